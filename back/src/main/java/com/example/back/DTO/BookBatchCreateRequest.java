@@ -0,0 +1,16 @@
+package com.example.back.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 도서 일괄 등록 요청 DTO
+ *  - books : 등록할 도서 목록 (각 항목은 단건 등록과 같은 형식)
+ */
+@Getter
+@NoArgsConstructor
+public class BookBatchCreateRequest {
+    private List<BookCreateRequest> books;
+}
@@ -0,0 +1,21 @@
+package com.example.back.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 도서 일괄 등록 응답 DTO
+ *  - bookIds      : 생성된 도서 ID 목록 (요청 순서와 동일)
+ *  - coverQueued  : 표지 이미지 업로드가 예약된 도서 수 (요청 스레드와 별도로 처리됨)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookBatchCreateResponse {
+
+    private List<Long> bookIds;  // 생성된 도서 ID 목록
+    private int coverQueued;     // 표지 업로드 예약 건수
+}
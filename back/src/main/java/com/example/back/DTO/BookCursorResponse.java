@@ -0,0 +1,75 @@
+package com.example.back.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 도서 목록 응답 DTO
+ *  - books      : 이번 페이지 도서 목록 (book_id 내림차순)
+ *  - nextCursor : 다음 페이지 요청 시 ?after= 로 그대로 전달할 불투명 커서 (마지막 페이지면 null)
+ *  - hasNext    : 다음 페이지 존재 여부
+ *
+ * OFFSET / COUNT(*) 없이 book_id < ? 조건으로만 조회하므로 페이지 깊이와 무관하게 비용이 일정하다.
+ */
+@Getter
+@NoArgsConstructor
+public class BookCursorResponse {
+
+    private static final String CURSOR_PREFIX = "b:";
+
+    private List<BookListResponse.BookItem> books;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public BookCursorResponse(List<BookListResponse.BookItem> books, String nextCursor, boolean hasNext) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    // ✅ size + 1 건 조회 결과 → BookCursorResponse 변환 팩토리
+    public static BookCursorResponse from(List<BookSummary> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<BookSummary> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? encodeCursor(pageRows.get(pageRows.size() - 1).getBookId())
+                : null;
+
+        return new BookCursorResponse(
+                pageRows.stream()
+                        .map(BookListResponse.BookItem::new)
+                        .toList(),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    // 마지막 bookId → 불투명 커서 문자열
+    public static String encodeCursor(Long bookId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + bookId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서 문자열 → 기준 bookId (비어 있으면 첫 페이지 → null)
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("커서 정보가 올바르지 않습니다.");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // Base64 디코딩 실패, 숫자 파싱 실패(NumberFormatException) 모두 400 처리
+            throw new IllegalArgumentException("커서 정보가 올바르지 않습니다.");
+        }
+    }
+}
@@ -18,11 +18,15 @@ public class BookDetailResponse {
 
     private Long categoryId;
     private String imageUrl;
+    private String detailImageUrl; // 상세 화면용 축소 이미지 (아직 생성 전이면 원본 URL)
+    private String thumbnailUrl;   // 목록 썸네일 (아직 생성 전이면 원본 URL)
     private String ownerUser;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    private Long version;
+
     @Builder
     public BookDetailResponse(Long bookId,
                               String title,
@@ -30,18 +34,24 @@ public class BookDetailResponse {
                               String content,
                               Long categoryId,
                               String imageUrl,
+                              String detailImageUrl,
+                              String thumbnailUrl,
                               String ownerUser,
                               LocalDateTime createdAt,
-                              LocalDateTime updatedAt) {
+                              LocalDateTime updatedAt,
+                              Long version) {
         this.bookId = bookId;
         this.title = title;
         this.description = description;
         this.content = content;
         this.categoryId = categoryId;
         this.imageUrl = imageUrl;
+        this.detailImageUrl = detailImageUrl;
+        this.thumbnailUrl = thumbnailUrl;
         this.ownerUser = ownerUser;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public static BookDetailResponse from(Book book) {
@@ -52,9 +62,12 @@ public class BookDetailResponse {
                 .content(book.getContent())
                 .categoryId(book.getCategoryId().getId())
                 .imageUrl(book.getImageUrl())
+                .detailImageUrl(book.getDetailImageUrl() != null ? book.getDetailImageUrl() : book.getImageUrl())
+                .thumbnailUrl(book.getThumbnailUrl() != null ? book.getThumbnailUrl() : book.getImageUrl())
                 .ownerUser(book.getUser().getId())
                 .createdAt(book.getCreated_at())
                 .updatedAt(book.getUpdated_at())
+                .version(book.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.example.back.DTO;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도서 전체 내보내기(NDJSON) 한 줄 DTO
+ *  - BookRepository 의 JPQL constructor expression 으로 직접 생성된다.
+ *    (엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않아 건수와 무관하게 메모리 사용량이 일정)
+ *  - 백업/분석 용도라 description, content 를 포함한 모든 컬럼을 담는다.
+ */
+@Getter
+public class BookExportRow {
+
+    private final Long bookId;
+    private final String userId;
+    private final Long categoryId;
+    private final String title;
+    private final String description;
+    private final String content;
+    private final String imageUrl;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BookExportRow(Long bookId,
+                         String userId,
+                         Long categoryId,
+                         String title,
+                         String description,
+                         String content,
+                         String imageUrl,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt) {
+        this.bookId = bookId;
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.imageUrl = imageUrl;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,9 +1,7 @@
 package com.example.back.DTO;
 
-import com.example.back.entity.Book;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.domain.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,12 +14,18 @@ public class BookListResponse {
     private int totalPages;
     private long totalItems;
     private List<BookItem> books;
+    private boolean totalEstimated; // true 면 totalPages/totalItems 는 COUNT 없이 추정한 값
 
     public BookListResponse(int page, int totalPages, long totalItems, List<BookItem> books) {
+        this(page, totalPages, totalItems, books, false);
+    }
+
+    public BookListResponse(int page, int totalPages, long totalItems, List<BookItem> books, boolean totalEstimated) {
         this.page = page;
         this.totalPages = totalPages;
         this.totalItems = totalItems;
         this.books = books;
+        this.totalEstimated = totalEstimated;
     }
 
     // ✅ 내부에서만 사용하는 Book DTO (외부 파일 X)
@@ -33,28 +37,47 @@ public class BookListResponse {
         private String title;
         private String category;
         private String imageUrl;
+        private String thumbnailUrl; // 목록용 썸네일 (아직 생성 전이면 원본 URL)
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
-        public BookItem(Book book) {
-            this.bookId = book.getId();
-            this.title = book.getTitle();
-            this.category = book.getCategoryId().getName();
-            this.imageUrl = book.getImageUrl();
-            this.createdAt = book.getCreated_at();
-            this.updatedAt = book.getUpdated_at();
+        public BookItem(BookSummary summary) {
+            this.bookId = summary.getBookId();
+            this.title = summary.getTitle();
+            this.category = summary.getCategoryName();
+            this.imageUrl = summary.getImageUrl();
+            this.thumbnailUrl = summary.getThumbnailUrl() != null ? summary.getThumbnailUrl() : summary.getImageUrl();
+            this.createdAt = summary.getCreatedAt();
+            this.updatedAt = summary.getUpdatedAt();
         }
     }
 
-    // ✅ Page<Book> → BookListResponse 변환 팩토리
-    public static BookListResponse from(Page<Book> pageResult) {
+    // ✅ 검색 색인 등 COUNT 쿼리 없이 전체 건수를 이미 알고 있는 경우의 변환 팩토리
+    public static BookListResponse of(int page, int size, long totalItems, List<BookSummary> rows) {
+        int totalPages = size > 0 ? (int) ((totalItems + size - 1) / size) : 0;
         return new BookListResponse(
-                pageResult.getNumber(),
-                pageResult.getTotalPages(),
-                pageResult.getTotalElements(),
-                pageResult.getContent().stream()
+                page,
+                totalPages,
+                totalItems,
+                rows.stream()
                         .map(BookItem::new)
                         .toList()
         );
     }
-}
\ No newline at end of file
+
+    // ✅ COUNT 없이 현재 페이지만 보고 전체 건수를 추정하는 변환 팩토리
+    //    (페이지가 가득 찼으면 최소 1건이 더 있다고 보고 다음 페이지를 노출)
+    public static BookListResponse estimated(int page, int size, List<BookSummary> rows) {
+        long totalItems = (long) page * size + rows.size() + (rows.size() >= size ? 1 : 0);
+        int totalPages = size > 0 ? (int) ((totalItems + size - 1) / size) : 0;
+        return new BookListResponse(
+                page,
+                totalPages,
+                totalItems,
+                rows.stream()
+                        .map(BookItem::new)
+                        .toList(),
+                true
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.back.DTO;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도서 목록/검색 화면 전용 조회 결과 DTO
+ *  - BookRepository 의 JPQL constructor expression 으로 직접 생성된다.
+ *  - content / description, User, Category 엔티티는 읽지 않고
+ *    목록에 필요한 컬럼과 카테고리 이름만 한 번의 join 쿼리로 가져온다.
+ */
+@Getter
+public class BookSummary {
+
+    private final Long bookId;
+    private final String title;
+    private final String categoryName;
+    private final String imageUrl;
+    private final String thumbnailUrl;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BookSummary(Long bookId,
+                       String title,
+                       String categoryName,
+                       String imageUrl,
+                       String thumbnailUrl,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+        this.bookId = bookId;
+        this.title = title;
+        this.categoryName = categoryName;
+        this.imageUrl = imageUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
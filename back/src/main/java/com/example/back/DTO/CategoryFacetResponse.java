@@ -0,0 +1,21 @@
+package com.example.back.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 카테고리 필터(facet)용 카테고리 한 개 정보 DTO
+ *  - categoryId : 카테고리 PK
+ *  - name      : 화면에 보여줄 이름
+ *  - bookCount : 해당 카테고리에 등록된 도서 수
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetResponse {
+
+    private Long categoryId; // 카테고리 ID
+    private String name;     // 카테고리 이름
+    private long bookCount;  // 카테고리별 도서 수
+}
@@ -0,0 +1,59 @@
+package com.example.back.DTO;
+
+import com.example.back.entity.CoverIngestJob;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 표지 업로드 작업 상태 응답 DTO
+ *  - status        : PENDING / RUNNING / DONE / FAILED / CANCELLED
+ *  - attempts      : 지금까지 시도한 횟수
+ *  - nextAttemptAt : 재시도 예정 시각 (PENDING 일 때 의미 있음)
+ *  - imageUrl      : 업로드 완료된 표지 URL (DONE 일 때만)
+ */
+@Getter
+@NoArgsConstructor
+public class CoverIngestStatusResponse {
+
+    private Long jobId;
+    private Long bookId;
+    private String status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private String imageUrl;
+    private LocalDateTime updatedAt;
+
+    public CoverIngestStatusResponse(Long jobId,
+                                     Long bookId,
+                                     String status,
+                                     int attempts,
+                                     LocalDateTime nextAttemptAt,
+                                     String lastError,
+                                     String imageUrl,
+                                     LocalDateTime updatedAt) {
+        this.jobId = jobId;
+        this.bookId = bookId;
+        this.status = status;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = lastError;
+        this.imageUrl = imageUrl;
+        this.updatedAt = updatedAt;
+    }
+
+    public static CoverIngestStatusResponse from(CoverIngestJob job) {
+        return new CoverIngestStatusResponse(
+                job.getId(),
+                job.getBookId(),
+                job.getStatus().name(),
+                job.getAttempts(),
+                job.getNextAttemptAt(),
+                job.getLastError(),
+                job.getResultUrl(),
+                job.getUpdatedAt()
+        );
+    }
+}
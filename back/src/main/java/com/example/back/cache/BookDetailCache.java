@@ -0,0 +1,71 @@
+package com.example.back.cache;
+
+import com.example.back.DTO.BookDetailResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 도서 상세 응답(BookDetailResponse) 캐시
+ *
+ * <동작 개요>
+ * - bookId 기준으로 최대 건수(app.books.detail-cache.max-size)와 TTL(app.books.detail-cache.ttl-ms)이 제한된 인메모리 캐시.
+ * - 도서 수정/삭제/표지 변경 시 BookService 가 해당 bookId 만 무효화한다.
+ * - 다른 서버의 변경은 어떤 bookId 인지 모르므로, CatalogVersion 이 다른 서버의 카탈로그 변경을 감지하면
+ *   (CatalogChangedEvent, 최대 version-poll-ms 지연) 캐시 전체를 비운다.
+ *   캐시된 version 이 상세 ETag 로 쓰이므로, 비우지 않으면 TTL 동안 이전 ETag 로 304 를 응답하게 된다.
+ * - hit/miss/eviction 통계는 Micrometer 로 노출된다. (관리 포트의 /actuator/metrics/cache.gets?tag=cache:bookDetail 등)
+ */
+@Component
+public class BookDetailCache {
+
+    private static final String CACHE_NAME = "bookDetail";
+
+    private final Cache<Long, BookDetailResponse> cache;
+
+    public BookDetailCache(
+            @Value("${app.books.detail-cache.max-size:10000}") long maxSize,
+            @Value("${app.books.detail-cache.ttl-ms:600000}") long ttlMs,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // 캐시에 있으면 반환, 없으면 loader 로 조회 후 저장 (같은 bookId 동시 조회는 한 번만 로딩)
+    public BookDetailResponse get(Long bookId, Function<Long, BookDetailResponse> loader) {
+        return cache.get(bookId, loader);
+    }
+
+    // 캐시에 있을 때만 반환 (없으면 null)
+    public BookDetailResponse getIfPresent(Long bookId) {
+        return cache.getIfPresent(bookId);
+    }
+
+    public void invalidate(Long bookId) {
+        cache.invalidate(bookId);
+    }
+
+    // 다른 서버에서 카탈로그가 바뀜 → 새 카탈로그 버전이 ETag 에 반영되기 전에 비움
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.back.cache;
+
+/**
+ * 다른 서버에서 카탈로그(도서 등록/수정/삭제)가 바뀐 것을 감지했을 때 CatalogVersion 이 발행하는 이벤트
+ * - 리스너가 끝난 뒤에 새 버전이 ETag 에 반영되므로, 리스너는 이 서버의 로컬 상태(검색 색인, 상세 캐시)를 먼저 맞춘다.
+ * - 리스너가 예외를 던지면 버전을 올리지 않고 다음 poll 에서 다시 발행한다.
+ *
+ * @param revision 새로 확인한 catalog_revision 값
+ */
+public record CatalogChangedEvent(long revision) {}
@@ -0,0 +1,125 @@
+package com.example.back.cache;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.back.repository.CatalogRevisionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 도서 카탈로그 전체 버전
+ *
+ * <동작 개요>
+ * - 도서 등록/수정/삭제/표지 반영이 커밋될 때마다 catalog_revision 행의 값을 1 증가시키며, 목록/검색 응답의 ETag 로 사용된다.
+ * - 값이 같으면 목록 내용도 같으므로 DB 조회/직렬화 없이 304 Not Modified 로 응답할 수 있다.
+ * - 버전은 DB 에 있으므로 모든 서버가 같은 값을 쓰고, 다른 서버의 변경은 version-poll-ms 주기로 가져온다.
+ *   (요청마다 DB 를 보지 않으므로 다른 서버의 변경은 최대 version-poll-ms 만큼 늦게 반영)
+ * - DB 증가에 실패하면 이 서버에서만 로컬 값을 올려 ETag 를 바꾼다. (이전 304 가 계속 나가지 않도록)
+ * - 조회한 버전이 이 서버가 올린 값들보다 더 많이 올라 있으면 다른 서버의 변경으로 보고 CatalogChangedEvent 를 발행한 뒤
+ *   (검색 색인 따라잡기 / 상세 캐시 비우기) 새 버전을 반영한다. 로컬 상태가 맞춰지기 전에 새 ETag 로 캐시되지 않도록.
+ *   커밋 직후 bump() 에서는 요청 스레드가 따라잡기를 하지 않도록 로컬 값만 올리고 poll 에 맡긴다.
+ *   (poll 이 따라잡기 중이면 기다리지 않고 마찬가지로 로컬 값만 올림)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final CatalogRevisionRepository catalogRevisionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // DB 에서 마지막으로 확인한 버전 (-1: 아직 읽지 않음)
+    private final AtomicLong revision = new AtomicLong(-1);
+    // DB 증가 실패 시(또는 다른 서버 변경 반영 전) 로컬에서만 올리는 값, 새 버전 반영 시 0
+    private final AtomicLong localOffset = new AtomicLong();
+    // 이 서버가 올린 버전 값 중 아직 반영 전인 것 (다른 서버 변경 감지용)
+    private final ConcurrentSkipListSet<Long> ownRevisions = new ConcurrentSkipListSet<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // poll 중복 실행 방지
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+
+    public void bump() {
+        try {
+            ownRevisions.add(catalogRevisionRepository.incrementAndGet(System.currentTimeMillis()));
+            refresh(false);
+        } catch (Exception e) {
+            localOffset.incrementAndGet();
+            log.warn("카탈로그 버전 증가 실패, 이 서버에서만 ETag 갱신: {}", e.toString());
+        }
+    }
+
+    // 목록 응답 ETag 값 (예: c1718000000042, DB 증가 실패 후에는 c1718000000042-l1)
+    public String etag() {
+        if (revision.get() < 0) {
+            try {
+                refresh(false);
+            } catch (Exception e) {
+                log.warn("카탈로그 버전 조회 실패: {}", e.toString());
+            }
+        }
+        long offset = localOffset.get();
+        return offset == 0
+                ? "c" + revision.get()
+                : "c" + revision.get() + "-l" + offset;
+    }
+
+    // 다른 서버에서 올린 버전 반영
+    @Scheduled(
+            initialDelayString = "${app.catalog.version-poll-ms:2000}",
+            fixedDelayString = "${app.catalog.version-poll-ms:2000}"
+    )
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresh(true);
+        } catch (Exception e) {
+            log.warn("카탈로그 버전 갱신 실패: {}", e.toString());
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    // catchUp=false 면 다른 서버 변경을 감지해도 이벤트를 발행하지 않고 로컬 값만 올려 둠 (poll 에서 처리)
+    private void refresh(boolean catchUp) {
+        if (catchUp) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            localOffset.incrementAndGet();
+            return;
+        }
+        try {
+            long current = catalogRevisionRepository.findRevision()
+                    .orElseGet(() -> catalogRevisionRepository.incrementAndGet(System.currentTimeMillis()));
+            long previous = revision.get();
+            // 늦게 끝난 조회가 더 새 값을 덮어쓰지 않도록 큰 값만 반영
+            if (current <= previous) {
+                return;
+            }
+
+            int own = ownRevisions.subSet(previous, false, current, true).size();
+            if (previous >= 0 && current - previous > own) {
+                if (!catchUp) {
+                    localOffset.incrementAndGet();
+                    return;
+                }
+                eventPublisher.publishEvent(new CatalogChangedEvent(current));
+            }
+            revision.set(current);
+            ownRevisions.headSet(current, true).clear();
+            localOffset.set(0);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.back.cache;
+
+import com.example.back.DTO.ApiResponse;
+import com.example.back.DTO.CategoryItemResponse;
+import com.example.back.entity.Category;
+import com.example.back.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리 메모리 레지스트리
+ *
+ * <동작 개요>
+ * - 카테고리는 기동 시 DataInitializer 가 한 번 넣은 뒤 거의 바뀌지 않으므로,
+ *   테이블 전체를 불변 스냅샷(목록 / id → 이름 Map / 직렬화된 응답 바이트)으로 메모리에 올려 둔다.
+ * - GET /api/categories 는 미리 직렬화된 바이트를 그대로 내려주고,
+ *   도서 등록/수정 시 categoryId 검증도 DB 조회 없이 스냅샷으로 처리한다.
+ * - 카테고리가 추가되면 refresh() 로 새 스냅샷을 만들어 참조만 교체한다. (읽는 쪽은 락 없이 항상 완전한 스냅샷을 봄)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 카테고리 스냅샷
+     *  - items   : ID 오름차순 카테고리 목록
+     *  - names   : categoryId → 이름
+     *  - payload : GET /api/categories 응답 본문(JSON) 바이트
+     */
+    private record Snapshot(List<CategoryItemResponse> items, Map<Long, String> names, byte[] payload) {}
+
+    // DB 에서 카테고리 전체를 다시 읽어 스냅샷 교체
+    public synchronized void refresh() {
+        List<Category> categories = categoryRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+
+        List<CategoryItemResponse> items = categories.stream()
+                .map(c -> new CategoryItemResponse(c.getId(), c.getName()))
+                .toList();
+
+        Map<Long, String> names = categories.stream()
+                .collect(Collectors.toUnmodifiableMap(Category::getId, Category::getName));
+
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(
+                    new ApiResponse<>("success", "카테고리목록조회성공", items));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카테고리 응답 직렬화 실패", e);
+        }
+
+        this.snapshot = new Snapshot(items, names, payload);
+
+        log.info("카테고리 레지스트리 갱신 완료: {}건", items.size());
+    }
+
+    public List<CategoryItemResponse> getItems() {
+        return current().items();
+    }
+
+    // 응답 본문 바이트 (호출 측에서 수정하지 않는다는 전제로 복사 없이 반환)
+    public byte[] getPayload() {
+        return current().payload();
+    }
+
+    public boolean contains(Long categoryId) {
+        return categoryId != null && current().names().containsKey(categoryId);
+    }
+
+    // 기동 순서와 무관하게 첫 조회 시 한 번 적재
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.back.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 표지 이미지 바이트 LRU 캐시 (off-heap)
+ *
+ * <동작 개요>
+ * - 시작 시 direct ByteBuffer 하나(capacityBytes)를 고정 크기 블록(blockBytes)으로 나눠 쓰고,
+ *   이미지 바이트는 이 블록들에만 저장한다. 힙에는 key → 블록 번호 목록 정도만 남으므로
+ *   캐시 용량을 늘려도 힙 사용량/GC 부담은 거의 늘지 않는다. (-XX:MaxDirectMemorySize 이내로 설정)
+ * - 공간이 부족하면 가장 오래 조회되지 않은 항목부터 내보낸다.
+ * - 응답 전송 중인 항목(pin)이 내보내지면 전송이 끝난 뒤(close) 블록을 반환해 내용이 덮어써지지 않게 한다.
+ */
+public class OffHeapCoverCache {
+
+    private final ByteBuffer slab;
+    private final int blockBytes;
+    private final int maxEntryBytes;
+
+    // 비어 있는 블록 번호 스택
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    private final LinkedHashMap<String, Slot> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long usedBytes;
+
+    private static final class Slot {
+        final int[] blocks;
+        final int length;
+        final String contentType;
+        int pins;
+        boolean evicted;
+
+        Slot(int[] blocks, int length, String contentType) {
+            this.blocks = blocks;
+            this.length = length;
+            this.contentType = contentType;
+        }
+    }
+
+    /**
+     * 조회 결과 (전송이 끝나면 반드시 close)
+     */
+    public final class Handle implements AutoCloseable {
+        private final Slot slot;
+        private boolean closed;
+
+        private Handle(Slot slot) {
+            this.slot = slot;
+        }
+
+        public int length() {
+            return slot.length;
+        }
+
+        public String contentType() {
+            return slot.contentType;
+        }
+
+        // 블록 순서대로 채널에 기록 (direct buffer 를 그대로 넘김)
+        public void writeTo(WritableByteChannel out) throws IOException {
+            int remaining = slot.length;
+            for (int block : slot.blocks) {
+                int n = Math.min(blockBytes, remaining);
+                ByteBuffer view = slab.slice(block * blockBytes, n);
+                while (view.hasRemaining()) {
+                    out.write(view);
+                }
+                remaining -= n;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unpin(slot);
+        }
+    }
+
+    public OffHeapCoverCache(long capacityBytes, int blockBytes, int maxEntryBytes) {
+        if (blockBytes <= 0) {
+            throw new IllegalArgumentException("blockBytes 는 0 보다 커야 합니다.");
+        }
+        int blocks = (int) Math.min(capacityBytes / blockBytes, Integer.MAX_VALUE / blockBytes);
+
+        this.slab = ByteBuffer.allocateDirect(blocks * blockBytes);
+        this.blockBytes = blockBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, blocks * blockBytes);
+        this.freeBlocks = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            freeBlocks[i] = blocks - 1 - i;
+        }
+        this.freeCount = blocks;
+    }
+
+    // 캐시에 있으면 pin 된 Handle, 없으면 null
+    public Handle get(String key) {
+        lock.lock();
+        try {
+            Slot slot = entries.get(key);
+            if (slot == null) {
+                return null;
+            }
+            slot.pins++;
+            return new Handle(slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 저장 (너무 크거나 공간을 만들 수 없으면 false)
+    public boolean put(String key, String contentType, byte[] bytes) {
+        if (bytes.length == 0 || bytes.length > maxEntryBytes) {
+            return false;
+        }
+        int needed = (bytes.length + blockBytes - 1) / blockBytes;
+
+        // 1) 블록 확보 (부족하면 LRU 순으로 내보냄)
+        int[] blocks = new int[needed];
+        lock.lock();
+        try {
+            if (entries.containsKey(key)) {
+                return true;
+            }
+            Iterator<Map.Entry<String, Slot>> eldest = entries.entrySet().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                Slot victim = eldest.next().getValue();
+                eldest.remove();
+                evict(victim);
+            }
+            if (freeCount < needed) {
+                return false;
+            }
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = freeBlocks[--freeCount];
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 2) 복사 (확보한 블록은 아직 다른 곳에서 보이지 않으므로 lock 밖에서)
+        int offset = 0;
+        for (int block : blocks) {
+            int n = Math.min(blockBytes, bytes.length - offset);
+            slab.put(block * blockBytes, bytes, offset, n);
+            offset += n;
+        }
+
+        // 3) 등록 (그 사이 같은 key 가 먼저 등록됐으면 확보한 블록 반환)
+        lock.lock();
+        try {
+            if (entries.containsKey(key)) {
+                release(blocks);
+            } else {
+                entries.put(key, new Slot(blocks, bytes.length, contentType));
+                usedBytes += bytes.length;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            Slot slot = entries.remove(key);
+            if (slot != null) {
+                evict(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long capacityBytes() {
+        return slab.capacity();
+    }
+
+    // lock 보유 상태에서 호출: 전송 중이 아니면 바로 블록 반환, 전송 중이면 unpin 시점으로 미룸
+    private void evict(Slot slot) {
+        slot.evicted = true;
+        usedBytes -= slot.length;
+        if (slot.pins == 0) {
+            release(slot.blocks);
+        }
+    }
+
+    private void unpin(Slot slot) {
+        lock.lock();
+        try {
+            slot.pins--;
+            if (slot.evicted && slot.pins == 0) {
+                release(slot.blocks);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(int[] blocks) {
+        for (int block : blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+}
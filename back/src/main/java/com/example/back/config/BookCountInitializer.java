@@ -0,0 +1,28 @@
+package com.example.back.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.back.service.BookCountService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Order(4)
+@Component
+public class BookCountInitializer implements CommandLineRunner {
+
+    private final BookCountService bookCountService;
+
+    public BookCountInitializer(BookCountService bookCountService) {
+        this.bookCountService = bookCountService;
+    }
+
+    @Override
+    public void run(String... args) {
+        // 더미 데이터 생성(Order 2) 이후 전체/카테고리별 건수를 메모리에 적재
+        log.info("도서 건수 카운터 초기화 시작");
+        bookCountService.resync();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.back.config;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.example.back.repository.BookRepository;
+import com.example.back.search.BookSearchDocument;
+import com.example.back.search.BookSearchIndex;
+import com.example.back.search.BookSearchIndexSync;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Order(3)
+@Component
+public class BookSearchIndexInitializer implements CommandLineRunner {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSearchIndexSync bookSearchIndexSync;
+
+    public BookSearchIndexInitializer(BookRepository bookRepository,
+                                      BookSearchIndex bookSearchIndex,
+                                      BookSearchIndexSync bookSearchIndexSync) {
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSearchIndexSync = bookSearchIndexSync;
+    }
+
+    @Override
+    public void run(String... args) {
+
+        log.info("=== 도서 검색 색인 재구성 시작 ===");
+        long startedAt = System.currentTimeMillis();
+        bookSearchIndexSync.startFrom(LocalDateTime.now());
+
+        // book_id 기준 청크 단위로 읽어서 색인 (전체 테이블을 한 번에 메모리에 올리지 않음)
+        long lastId = 0L;
+        int indexed = 0;
+        int skipped = 0;
+
+        while (true) {
+            List<BookSearchDocument> chunk =
+                    bookRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            // 재구성 중 등록/수정/삭제 커밋이 먼저 반영된 도서는 청크에서 읽은 이전 값으로 덮어쓰지 않음
+            for (BookSearchDocument doc : chunk) {
+                if (bookSearchIndex.indexFromRebuild(doc)) {
+                    indexed++;
+                } else {
+                    skipped++;
+                }
+            }
+            lastId = chunk.get(chunk.size() - 1).getBookId();
+        }
+
+        bookSearchIndex.markReady();
+
+        // 재구성 중 다른 서버에서 이미 읽은 청크의 도서가 수정됐을 수 있으므로 한 번 따라잡기
+        bookSearchIndexSync.catchUp();
+
+        log.info("도서 검색 색인 재구성 완료: {}건, 재구성 중 변경되어 건너뜀 {}건, {}ms",
+                indexed, skipped, System.currentTimeMillis() - startedAt);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.back.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.back.entity.Book;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Order(0)
+@Component
+public class BookSequenceAligner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+
+        // IDENTITY → 시퀀스 전환 이전에 쌓인 book_id 와 겹치지 않도록,
+        // 도서 INSERT 가 일어나기 전(Order 0)에 books_seq.next_val 을 max(book_id) 이후로 올린다.
+        // (pooled 할당 특성상 한 블록(allocationSize) 만큼 여유를 둠)
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(book_id), 0) from books", Long.class);
+        long required = (maxId != null ? maxId : 0L) + Book.ID_ALLOCATION_SIZE + 1;
+
+        Integer rows = jdbcTemplate.queryForObject("select count(*) from books_seq", Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("insert into books_seq (next_val) values (?)", required);
+            log.info("도서 ID 시퀀스 초기화: next_val={}", required);
+            return;
+        }
+
+        int updated = jdbcTemplate.update(
+                "update books_seq set next_val = ? where next_val < ?", required, required);
+
+        if (updated > 0) {
+            log.info("도서 ID 시퀀스 보정: maxBookId={}, next_val={}", maxId, required);
+        } else {
+            log.info("도서 ID 시퀀스 보정 불필요: maxBookId={}", maxId);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.back.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class CoverIngestConfig {
+
+    @Value("${app.books.cover-ingest.threads:4}")
+    private int threads;
+
+    @Value("${app.books.cover-ingest.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.covers.fetch.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    // 표지 이미지 다운로드 + S3 업로드 전용 스레드 풀
+    // (요청 스레드를 외부 HTTP/S3 대기에 묶지 않도록 분리)
+    // 작업 자체는 cover_ingest_jobs 테이블에 남아 있으므로 큐가 가득 차면 제출을 거절하고 다음 poll 에서 다시 가져간다.
+    @Bean(name = "coverIngestExecutor")
+    public ThreadPoolTaskExecutor coverIngestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cover-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 표지 원본 다운로드용 공용 HTTP 클라이언트
+    // (연결 풀 공유 → 같은 호스트/CDN 은 DNS/TCP/TLS 를 다시 하지 않고 keep-alive 연결 재사용,
+    //  서버가 지원하면 HTTP/2 로 한 연결에서 여러 요청 multiplex, 3xx 리다이렉트는 https → http 만 제외하고 따라감)
+    @Bean(name = "coverHttpClient")
+    public HttpClient coverHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import com.example.back.cache.CategoryRegistry;
 import com.example.back.repository.CategoryRepository;
 import com.example.back.entity.Category;
 
@@ -17,9 +18,11 @@ import lombok.extern.slf4j.Slf4j;
 public class DataInitializer implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
 
-    public DataInitializer(CategoryRepository categoryRepository) {
+    public DataInitializer(CategoryRepository categoryRepository, CategoryRegistry categoryRegistry) {
         this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
     }
 
     @Override
@@ -29,6 +32,7 @@ public class DataInitializer implements CommandLineRunner {
 
         if (count > 0) {
             log.info("카테고리 초기화 생략됨 — 기존 데이터 {}건 존재", count);
+            categoryRegistry.refresh();
             return;
         }
 
@@ -60,5 +64,8 @@ public class DataInitializer implements CommandLineRunner {
         categories.forEach(name -> categoryRepository.save(new Category(name)));
 
         log.info("기본 카테고리 {}건 초기화 완료", categories.size());
+
+        // 카테고리 추가 후 메모리 스냅샷 갱신
+        categoryRegistry.refresh();
     }
 }
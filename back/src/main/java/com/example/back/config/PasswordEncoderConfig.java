@@ -1,15 +1,44 @@
 package com.example.back.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordEncoderConfig {
 
+    // BCrypt cost (2^strength 회 반복), 로그인 성공 시 이보다 낮은 cost 로 저장된 해시는 다시 해시해서 저장
+    @Value("${app.password.bcrypt-strength:10}")
+    private int strength;
+
+    // 0 이면 CPU 코어 수의 절반 (최소 1)
+    @Value("${app.password.hash-threads:0}")
+    private int threads;
+
+    @Value("${app.password.hash-queue-capacity:64}")
+    private int queueCapacity;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // 비밀번호 해시/검증 전용 스레드 풀
+    // (BCrypt 는 CPU 를 오래 쓰므로 Tomcat 요청 스레드에서 돌리지 않고 코어 일부만 쓰도록 분리,
+    //  대기열이 가득 차면 제출을 거절 → PasswordHashService 가 바로 503 응답)
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
     }
 }
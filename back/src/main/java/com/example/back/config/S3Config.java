@@ -1,16 +1,25 @@
 package com.example.back.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.ProfileCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
 
+import java.net.URI;
+import java.time.Duration;
+
+// 표지 저장소가 로컬 디스크(app.covers.storage: local)면 S3 클라이언트/커넥션 풀을 만들지 않음
 @Configuration
+@ConditionalOnProperty(name = "app.covers.storage", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
 
     @Value("${app.s3.region:ap-southeast-1}")
@@ -20,22 +29,60 @@ public class S3Config {
     @Value("${app.s3.profile:}")
     private String profile;
 
-    @Bean
-    public S3Client s3Client() {
-        AwsCredentialsProvider provider;
+    //  로컬 S3 호환 서버(MinIO 등)로 붙일 때만 지정 (비어 있으면 AWS 기본 endpoint)
+    @Value("${app.s3.endpoint:}")
+    private String endpoint;
+
+    //  S3 호환 서버는 보통 가상 호스트 방식(bucket.host)을 지원하지 않아 path-style 필요
+    @Value("${app.s3.path-style:false}")
+    private boolean pathStyle;
+
+    //  netty 커넥션 풀 크기 (동시에 열어 둘 최대 HTTP 연결 수)
+    @Value("${app.s3.async.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${app.s3.async.connection-acquire-timeout-ms:10000}")
+    private long connectionAcquireTimeoutMs;
+
+    //  요청 1건(재시도 포함) 전체 제한 시간
+    @Value("${app.s3.async.api-call-timeout-ms:120000}")
+    private long apiCallTimeoutMs;
+
+    //  이 크기를 넘는 putObject 는 SDK 가 part 단위 multipart 업로드로 나눠 보낸다 (최소 5MB)
+    @Value("${app.s3.multipart-part-bytes:8388608}")
+    private long partSize;
+
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient() {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquireTimeoutMs))
+                        .connectionTimeout(Duration.ofSeconds(5)))
+                .overrideConfiguration(c -> c.apiCallTimeout(Duration.ofMillis(apiCallTimeoutMs)))
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(partSize)
+                        .minimumPartSizeInBytes(partSize)
+                        .build())
+                .forcePathStyle(pathStyle);
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
 
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
         // profile이 있고, 실제로 로컬 프로필 파일이 있을 때만 profile 사용
         if (StringUtils.hasText(profile)) {
-            provider = ProfileCredentialsProvider.builder()
+            return ProfileCredentialsProvider.builder()
                     .profileName(profile)
                     .build();
-        } else {
-            provider = DefaultCredentialsProvider.create(); // EC2 IAM Role 포함
         }
-
-        return S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(provider)
-                .build();
+        return DefaultCredentialsProvider.create(); // EC2 IAM Role 포함
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.example.back.filter.JwtAuthFilter;
 import com.example.back.jwt.JwtUtil;
+import com.example.back.jwt.TokenRevocationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,10 +24,11 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;  // JwtAuthFilter 생성에 필요
+    private final TokenRevocationService tokenRevocationService;
 
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtUtil);   // Bean 등록
+        return new JwtAuthFilter(jwtUtil, tokenRevocationService);   // Bean 등록
     }
 
     @Bean
@@ -44,6 +46,8 @@ public class SecurityConfig {
                     "/api/auth/delete",
                     "/api/books/detail",
                     "/api/books/create",
+                    "/api/books/batch",
+                    "/api/books/export",
                     "/api/books/update",
                     "/api/books/delete",
                     "/api/auth/apikey",
@@ -0,0 +1,28 @@
+package com.example.back.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.back.jwt.TokenRevocationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Order(0)
+@Component
+public class TokenRevocationInitializer implements CommandLineRunner {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public TokenRevocationInitializer(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public void run(String... args) {
+        // 데이터 초기화와 무관하므로 가장 먼저 폐기 토큰 filter 적재 (완료 전 요청은 DB 로 확인)
+        log.info("폐기 토큰 filter 초기화 시작");
+        tokenRevocationService.rebuild();
+    }
+}
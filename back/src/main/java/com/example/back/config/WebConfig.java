@@ -0,0 +1,19 @@
+package com.example.back.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.back.jwt.AuthPrincipalArgumentResolver;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // 컨트롤러에서 AuthPrincipal 파라미터로 인증 사용자 받기
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthPrincipalArgumentResolver());
+    }
+}
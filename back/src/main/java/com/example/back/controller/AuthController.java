@@ -16,7 +16,6 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
 
 import com.example.back.DTO.ApiResponse;
 import com.example.back.DTO.DeleteRequest;
@@ -25,6 +24,7 @@ import com.example.back.DTO.LoginResponse;
 import com.example.back.DTO.SignupRequest;
 import com.example.back.DTO.UpdateRequest;
 import com.example.back.entity.User;
+import com.example.back.jwt.AuthPrincipal;
 import com.example.back.service.AuthService;
 
 import jakarta.servlet.http.Cookie;
@@ -131,29 +131,23 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<?> logout(
-            @RequestHeader("Authorization") String authHeader,
+            AuthPrincipal principal,
             HttpServletResponse response
     ) {
         /**
          * 로그아웃 API
          * - Authorization 헤더에 전달된 JWT 토큰으로 로그아웃 처리합니다.
          *
-         * @param authHeader Authorization 헤더 값
-         *   예: "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
+         * @param principal JwtAuthFilter 에서 검증된 사용자 (AuthPrincipalArgumentResolver 가 주입)
          *
          * @return ResponseEntity<?>
          *   - 200: 로그아웃 성공
          *   - 401: 잘못된 토큰 또는 로그아웃 불가
          *   - 500: 서버 오류
          */
-        String token = "";
+        log.info("로그아웃 요청: userId={}", principal.userId());
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7); // "Bearer " 이후 토큰만 추출
-        }
-        log.info("로그아웃 요청: token={}", token);
-
-        authService.logout(token);   
+        authService.logout(principal);
         
         Cookie refreshCookie = new Cookie("refreshToken", null);
         refreshCookie.setHttpOnly(true);
@@ -169,18 +163,17 @@ public class AuthController {
 
     @PatchMapping("/update")
     public ResponseEntity<?> updateUser(
-            @RequestHeader("Authorization") String authHeader,
-            @RequestHeader(value = "API-KEY", required = false) String apiKey, 
+            AuthPrincipal principal,
+            @RequestHeader(value = "API-KEY", required = false) String apiKey,
             @RequestBody UpdateRequest req
     ) {
         /**
          * 회원정보 수정 API
          *
          * 처리 흐름:
-         * 1) Authorization 헤더에서 Access Token 추출
-         * 2) 토큰에서 userId 추출 및 유효성 검증
-         * 3) name, pw 중 전달된 필드만 수정
-         * 4) DB 업데이트 후 성공 응답 반환
+         * 1) JwtAuthFilter 에서 검증된 사용자(principal) 주입
+         * 2) name, pw 중 전달된 필드만 수정
+         * 3) DB 업데이트 후 성공 응답 반환
          *
          * Request Header:
          *   Authorization: Bearer JWT_ACCESS_TOKEN
@@ -194,10 +187,9 @@ public class AuthController {
          */
 
         log.info("회원정보 수정 요청");
-        String token = authHeader.replace("Bearer ", "");
 
         // 서비스에 업데이트 요청
-        authService.updateUser(token, req, apiKey);
+        authService.updateUser(principal, req, apiKey);
 
         log.info("회원정보 수정 완료");
 
@@ -208,13 +200,12 @@ public class AuthController {
 
     @PostMapping("/delete")
     public ResponseEntity<?> deleteUser(
-            @RequestHeader("Authorization") String authorizationHeader,
+            AuthPrincipal principal,
             @RequestBody DeleteRequest req,
             HttpServletResponse response) {
         /**
          * 회원 탈퇴 API
-         * - Authorization 헤더에서 JWT 토큰 추출
-         * - 토큰의 사용자와 req.pw를 검증하여 DB에서 삭제
+         * - JwtAuthFilter 에서 검증된 사용자와 req.pw를 검증하여 DB에서 삭제
          *
          * @param req DeleteRequest
          *   - 클라이언트가 보낸 JSON:
@@ -227,13 +218,10 @@ public class AuthController {
          *   - 401: 토큰 또는 비밀번호가 올바르지 않음
          *   - 500: 서버 내부 오류
          */
-        log.info("회원 탈퇴 요청: AuthorizationHeader={}", authorizationHeader);
-
-        String token = authorizationHeader.replace("Bearer ", "");
-        log.info("토큰 추출 완료: {}", token);
+        log.info("회원 탈퇴 요청: userId={}", principal.userId());
 
         // 서비스 호출
-        authService.deleteUser(token, req.getPw());
+        authService.deleteUser(principal, req.getPw());
 
         Cookie refreshCookie = new Cookie("refreshToken", null);
         refreshCookie.setHttpOnly(true);
@@ -304,18 +292,16 @@ public class AuthController {
 
     @GetMapping("/api-key")
     public ResponseEntity<?> getUserApiKey(
-            @RequestHeader("Authorization") String authHeader
+            AuthPrincipal principal
     ) {
         /**
          * API Key 조회 API
-         * - Authorization 헤더로 전달된 Access Token을 통해
-         *   사용자 ID를 추출하고, 해당 사용자의 등록된 API Key를 반환합니다.
+         * - JwtAuthFilter 에서 검증된 사용자의 등록된 API Key를 반환합니다.
          *
          * 처리 흐름:
-         *   1) Authorization 헤더 유효성 검사
-         *   2) Access Token 추출
-         *   3) Service 호출하여 API Key 조회
-         *   4) 조회 성공 시 API Key 반환
+         *   1) 검증된 사용자(principal) 주입 (토큰 없으면 401)
+         *   2) Service 호출하여 API Key 조회
+         *   3) 조회 성공 시 API Key 반환
          *
          * 예외 처리:
          *   - 잘못된 토큰: IllegalArgumentException -> 401
@@ -323,11 +309,8 @@ public class AuthController {
          */
         log.info("API Key 조회 요청");
 
-        String token = authHeader.replace("Bearer ", "");
-        log.info("API Key 조회 - Access Token 추출 완료");
-
         // 서비스 호출
-        String apiKey = authService.getUserApiKey(token);
+        String apiKey = authService.getUserApiKey(principal);
         log.info("API Key 조회 완료: apiKey 존재 여부={}", (apiKey != null));
 
         return ResponseEntity.ok(
@@ -337,15 +320,13 @@ public class AuthController {
 
     @GetMapping("/user-info")
     public ResponseEntity<?> getUserInfo(
-            @RequestHeader("Authorization") String authHeader
+            AuthPrincipal principal
     ) {
         /**
          * 사용자 정보 조회 API
-         * - Authorization 헤더에서 JWT 토큰을 추출하여 사용자 인증
-         * - 토큰에서 userId를 얻고 해당 사용자의 정보를 조회하여 반환
+         * - JwtAuthFilter 에서 검증된 사용자의 정보를 조회하여 반환
          *
-         * @param authHeader Authorization 헤더 값
-         *   - 예: "Bearer eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9..."
+         * @param principal 검증된 사용자 (토큰이 없으면 AuthPrincipalArgumentResolver 가 401)
          *
          * @return ResponseEntity<?>
          *   - 200: 사용자 정보 조회 성공
@@ -353,20 +334,10 @@ public class AuthController {
          *   - 404: 해당 사용자 정보 없음
          *   - 500: 서버 내부 오류
          */
-        log.info("사용자 정보 조회 요청: AuthorizationHeader={}", authHeader);
-
-        // Authorization 헤더 검증
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.warn("사용자 정보 조회 실패 - Authorization 헤더가 유효하지 않음: {}", authHeader);
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
-        }
-
-        // "Bearer " 제거 후 토큰만 추출
-        String token = authHeader.substring(7);
-        log.info("토큰 추출 완료: {}", token);
+        log.info("사용자 정보 조회 요청: userId={}", principal.userId());
 
-        // 서비스 호출: 토큰 기반 사용자 정보 조회
-        User user = authService.getUserInfo(token);
+        // 서비스 호출: 검증된 사용자 정보 조회
+        User user = authService.getUserInfo(principal);
         log.info("사용자 정보 조회 성공: id={}, name={}", user.getId(), user.getName());
 
         // 응답 헤더에 API Key 추가 
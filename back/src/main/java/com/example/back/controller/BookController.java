@@ -1,15 +1,30 @@
 package com.example.back.controller;
 
-import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 import com.example.back.DTO.*;
+import com.example.back.service.BookExportService;
 import com.example.back.service.BookService;
-import org.springframework.core.io.FileSystemResource;
+import com.example.back.service.CoverObjectService;
+import com.example.back.service.CoverProxyService;
+import com.example.back.service.LocalCoverService;
+import com.example.back.storage.CoverStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.core.io.Resource;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,31 +35,84 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
-    private final String coverPath = "./back/uploads/bookcovers/";
+    private final BookExportService bookExportService;
+    private final LocalCoverService localCoverService;
+    private final CoverProxyService coverProxyService;
+    private final CoverObjectService coverObjectService;
+    private final CoverStorage coverStorage;
 
     @GetMapping("/cover/{bookId}")
-    @SuppressWarnings("null")
-    public ResponseEntity<?> getBookCover(@PathVariable("bookId") Long bookId) {
+    public ResponseEntity<?> getBookCover(
+            @PathVariable("bookId") Long bookId,
+            @RequestParam(required = false) String variant,
+            @RequestParam(name = "v", required = false) String version,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         /**
          * 책 커버 이미지 반환 API
-         * - 전달받은 bookId로 서버 로컬에 저장된 책 표지 이미지를 조회하여 반환합니다.
-         * - 경로 규칙: {coverPath}/{bookId}.jpg
+         * - 전달받은 bookId의 현재 표지를 표지 저장소(app.covers.storage)에 맞게 반환합니다.
+         *   - local : 로컬 디스크 파일을 sendfile(zero-copy)로 전송 (ETag / Last-Modified 조건부 요청, 단일 Range 지원)
+         *   - s3    : app.s3.return-mode 가 PROXY 면 off-heap 캐시를 거쳐 대신 전송, 아니면 버킷 URL 로 redirect
+         * - 내용 주소 표지가 없는 이전 도서는 {app.covers.local.dir}/{bookId}.png 파일을 반환합니다.
          *
          * @param bookId Long
          *   - URL Path Variable: 요청한 도서의 ID
+         * @param variant String
+         *   - (선택) original / detail / thumb
+         * @param version String
+         *   - (선택) 표지 hash 앞부분, 현재 표지와 같으면 immutable 캐시 헤더로 응답
          *
          * @return ResponseEntity<?>
-         *   - 200: 이미지 파일 반환 (Content-Type: image/jpeg)
-         *   - 404: 해당 bookId의 이미지 파일이 존재하지 않음
+         *   - 200: 이미지 파일 반환
+         *   - 206: Range 요청 구간 반환 (Content-Range)
+         *   - 302: 버킷 URL 로 이동 (s3 저장소, PUBLIC_URL 모드)
+         *   - 304: If-None-Match / If-Modified-Since 기준 변경 없음
+         *   - 404: 해당 bookId의 이미지가 존재하지 않음
+         *   - 416: 파일 범위를 벗어난 Range 요청
          */
-        log.info("커버 이미지 요청: bookId={}", bookId);
+        // 1) 내용 주소 표지 (cover_objects)
+        CoverObjectService.ResolvedCover resolved = coverObjectService.resolve(bookId, variant, version).orElse(null);
+        if (resolved != null) {
+            Optional<Path> localPath = coverStorage.localPath(resolved.key());
+
+            if (localPath.isPresent()) {
+                // 로컬 디스크 저장소: 파일을 바로 전송
+                LocalCoverService.LocalCover file = localCoverService.find(localPath.get()).orElse(null);
+                if (file != null) {
+                    return serveLocalFile(file, resolved.versioned(), range, ifRange, webRequest, request, response);
+                }
+            } else if (coverProxyService.isEnabled()) {
+                // 프록시 모드: 저장소에서 읽어(off-heap 캐시) 대신 전송
+                if (webRequest.checkNotModified(resolved.etag())) {
+                    return null;
+                }
+                if (coverProxyService.write(resolved, request, response)) {
+                    return null;
+                }
+            } else {
+                // 브라우저가 직접 받을 수 있는 URL 이 있으면 그쪽으로 이동
+                Optional<String> url = coverStorage.url(resolved.key());
+                if (url.isPresent()) {
+                    return ResponseEntity.status(HttpStatus.FOUND)
+                            .location(URI.create(url.get()))
+                            .cacheControl(resolved.versioned()
+                                    ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic()
+                                    : CacheControl.noCache())
+                            .build();
+                }
+            }
+        }
 
-        String filePath = coverPath + bookId + ".png";
-        File file = new File(filePath);
+        // 2) 이전 방식 로컬 파일
+        LocalCoverService.LocalCover cover = localCoverService.findLegacy(bookId).orElse(null);
 
         // 이미지 파일 존재 여부 확인
-        if (!file.exists()) {
-            log.warn("커버 이미지 파일 없음: path={}", filePath);
+        if (cover == null) {
+            log.warn("커버 이미지 파일 없음: bookId={}", bookId);
 
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(
@@ -55,21 +123,56 @@ public class BookController {
                     );
         }
 
-        // 파일이 존재할 때
-        log.info("커버 이미지 파일 반환 준비 완료: path={}", filePath);
+        return serveLocalFile(cover, false, range, ifRange, webRequest, request, response);
+    }
+
+    // 로컬 파일 전송: 조건부 요청(304) → Range(206 / 416) → sendfile
+    private ResponseEntity<?> serveLocalFile(
+            LocalCoverService.LocalCover cover,
+            boolean immutable,
+            String range,
+            String ifRange,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        // 파일이 그대로면 본문 없이 304 Not Modified
+        if (webRequest.checkNotModified(cover.etag(), cover.lastModified())) {
+            return null;
+        }
 
-        Resource resource = new FileSystemResource(file);
+        long start = 0;
+        long end = cover.size() - 1;
+        boolean partial = false;
+
+        // If-Range 가 현재 ETag 와 다르면(파일이 바뀌었으면) Range 를 무시하고 전체 전송
+        // 여러 구간(multipart/byteranges) 요청도 전체 전송으로 응답
+        if (range != null && cover.size() > 0 && (ifRange == null || ifRange.equals(cover.etag()))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(cover.size());
+                    end = ranges.get(0).getRangeEnd(cover.size());
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + cover.size())
+                        .build();
+            }
+        }
 
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .contentType(MediaType.IMAGE_JPEG)
-                .body(resource);
+        localCoverService.write(cover, start, end, partial, immutable, request, response);
+        return null;
     }
 
     @GetMapping
     public ResponseEntity<ApiResponse<?>> getBooks(
+            @RequestParam(required = false) Long categoryId,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean estimate,
+            WebRequest webRequest
     ) {
         /**
          * 도서 목록 조회 API (GET)
@@ -78,30 +181,45 @@ public class BookController {
          * - 페이지 번호와 페이지 크기를 기준으로 도서 목록을 조회하여 응답으로 반환한다.
          *
          * 요청 정보
+         * - @RequestParam Long categoryId
+         *   : (선택) 해당 카테고리 도서만 조회
          * - @RequestParam int page
          *   : 조회할 페이지 번호 (기본값 1)
          * - @RequestParam int size
          *   : 한 페이지당 조회할 도서 수 (기본값 10)
+         * - @RequestParam boolean estimate
+         *   : true 면 정확한 건수를 바로 알 수 없을 때 COUNT 대신 추정치 반환 (totalEstimated = true)
          *
          * 응답 형식 (ResponseEntity<ApiResponse<BookListResponse>>)
-         * - 200: 도서 목록 조회 성공
+         * - 200: 도서 목록 조회 성공 (ETag: 카탈로그 버전)
+         * - 304: If-None-Match 가 현재 ETag 와 같음 (본문 없음)
          * - 400: 잘못된 페이지 번호 등 잘못된 요청
          * - 500: 서버 내부 오류 발생 시
          */
-        BookListResponse data = bookService.getBooks(page - 1, size);
+        // 카탈로그 버전이 그대로면 DB 조회/직렬화 없이 304 Not Modified
+        String etag = bookService.getCatalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        BookListResponse data = bookService.getBooks(categoryId, page - 1, size, estimate);
 
         log.info("도서 목록 조회 성공: page={}, totalPages={}", data.getPage(), data.getTotalPages());
 
-        return ResponseEntity.ok(
-                new ApiResponse<>("success", "도서목록조회성공", data)
-        );
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>("success", "도서목록조회성공", data));
     }
 
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<BookListResponse>> searchBooksByTitle(
             @RequestParam String title,
+            @RequestParam(required = false) Long categoryId,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean estimate,
+            WebRequest webRequest
     ) {
         /**
          * 도서 제목 검색 API (GET)
@@ -112,36 +230,188 @@ public class BookController {
          * 요청 정보
          * - @RequestParam String title
          *   : 검색할 도서 제목 키워드
+         * - @RequestParam Long categoryId
+         *   : (선택) 해당 카테고리 도서만 검색
          * - @RequestParam int page
          *   : 조회할 페이지 번호 (기본값 1, 프론트 기준)
          * - @RequestParam int size
          *   : 한 페이지당 조회할 도서 수 (기본값 10)
+         * - @RequestParam boolean estimate
+         *   : true 면 검색 건수가 캐시에 없을 때 COUNT 대신 추정치 반환 (totalEstimated = true)
          *
          * 응답 형식 (ResponseEntity<ApiResponse<BookListResponse>>)
-         * - 200: 도서 제목 검색 성공
+         * - 200: 도서 제목 검색 성공 (ETag: 카탈로그 버전)
+         * - 304: If-None-Match 가 현재 ETag 와 같음 (본문 없음)
          * - 400: 검색어 미입력, 잘못된 페이지 요청 등 잘못된 요청
          * - 500: 서버 내부 오류 발생 시
          */
         log.info("도서 제목 검색 요청: title={}, page={}, size={}", title, page - 1, size);
 
+        // 카탈로그 버전이 그대로면 DB 조회/직렬화 없이 304 Not Modified
+        String etag = bookService.getCatalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         // page는 프론트 기준 1부터, 서비스/DB는 0부터 사용하므로 -1
-        BookListResponse data = bookService.searchBooksByTitle(title, page - 1, size);
+        BookListResponse data = bookService.searchBooksByTitle(title, categoryId, page - 1, size, estimate);
 
         log.info("도서 제목 검색 성공: title={}, page={}, totalPages={}",
                 title, data.getPage(), data.getTotalPages());
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>(
                         "success",
                         "도서제목검색성공",
                         data
-                )
-        );
+                ));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<ApiResponse<BookCursorResponse>> getBooksByCursor(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest
+    ) {
+        /**
+         * 도서 목록 커서 조회 API (GET)
+         *
+         * <동작 개요>
+         * - 무한 스크롤용 keyset 페이지네이션. OFFSET / COUNT(*) 없이 직전 페이지의 마지막 도서 이후만 조회한다.
+         *
+         * 요청 정보
+         * - @RequestParam Long categoryId
+         *   : (선택) 해당 카테고리 도서만 조회
+         * - @RequestParam String after
+         *   : 직전 응답의 nextCursor (첫 페이지는 빈 값: ?after=)
+         * - @RequestParam int size
+         *   : 한 번에 조회할 도서 수 (기본값 10, 최대 100)
+         *
+         * 응답 형식 (ResponseEntity<ApiResponse<BookCursorResponse>>)
+         * - 200: 도서 목록 조회 성공 (마지막 페이지면 nextCursor = null, ETag: 카탈로그 버전)
+         * - 304: If-None-Match 가 현재 ETag 와 같음 (본문 없음)
+         * - 400: 잘못된 커서 / size
+         * - 500: 서버 내부 오류 발생 시
+         */
+        // 카탈로그 버전이 그대로면 DB 조회/직렬화 없이 304 Not Modified
+        String etag = bookService.getCatalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        BookCursorResponse data = bookService.getBooksByCursor(categoryId, after, size);
+
+        log.info("도서 목록 커서 조회 성공: size={}, hasNext={}", data.getBooks().size(), data.isHasNext());
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>("success", "도서목록조회성공", data));
+    }
+
+    @GetMapping(value = "/search", params = "after")
+    public ResponseEntity<ApiResponse<BookCursorResponse>> searchBooksByTitleCursor(
+            @RequestParam String title,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest
+    ) {
+        /**
+         * 도서 제목 커서 검색 API (GET)
+         *
+         * <동작 개요>
+         * - /api/books/search 와 동일한 검색 조건을 keyset 페이지네이션으로 조회한다.
+         *
+         * 요청 정보
+         * - @RequestParam String title     : 검색할 도서 제목 키워드
+         * - @RequestParam Long categoryId  : (선택) 해당 카테고리 도서만 검색
+         * - @RequestParam String after     : 직전 응답의 nextCursor (첫 페이지는 빈 값)
+         * - @RequestParam int size         : 한 번에 조회할 도서 수 (기본값 10, 최대 100)
+         *
+         * 응답 형식 (ResponseEntity<ApiResponse<BookCursorResponse>>)
+         * - 200: 도서 제목 검색 성공 (ETag: 카탈로그 버전)
+         * - 304: If-None-Match 가 현재 ETag 와 같음 (본문 없음)
+         * - 400: 검색어 미입력, 잘못된 커서 / size
+         * - 500: 서버 내부 오류 발생 시
+         */
+        log.info("도서 제목 커서 검색 요청: title={}, after={}, size={}", title, after, size);
+
+        // 카탈로그 버전이 그대로면 DB 조회/직렬화 없이 304 Not Modified
+        String etag = bookService.getCatalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        BookCursorResponse data = bookService.searchBooksByTitleCursor(title, categoryId, after, size);
+
+        log.info("도서 제목 커서 검색 성공: title={}, size={}, hasNext={}",
+                title, data.getBooks().size(), data.isHasNext());
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>("success", "도서제목검색성공", data));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(name = "userId", required = false) String ownerId
+    ) {
+        /**
+         * 도서 전체 내보내기 API (GET, NDJSON)
+         *
+         * <동작 개요>
+         * - 야간 분석/백업 용도로 도서 전체(또는 카테고리/작성자 필터)를 한 번의 응답으로 스트리밍한다.
+         * - 한 줄에 도서 한 건(JSON)이며, 페이지 API 와 달리 COUNT / OFFSET 없이 테이블을 한 번만 순회한다.
+         * - 응답 본문은 별도 스레드(StreamingResponseBody)에서 쓰여지므로 요청 스레드를 오래 점유하지 않는다.
+         *
+         * 요청 정보
+         * - categoryId (선택) : 카테고리 필터
+         * - userId     (선택) : 작성자 필터
+         *
+         * 응답 형식 (application/x-ndjson)
+         * - 200: {"bookId":1,"userId":"...","categoryId":3,"title":"...", ...}\n ...
+         * - 401: 인증 실패
+         */
+        log.info("도서 내보내기 요청: categoryId={}, userId={}", categoryId, ownerId);
+
+        StreamingResponseBody body = out -> bookExportService.exportNdjson(categoryId, ownerId, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"books.ndjson\"")
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @GetMapping("/cover-status/{bookId}")
+    public ResponseEntity<ApiResponse<CoverIngestStatusResponse>> getCoverStatus(@PathVariable Long bookId) {
+        /**
+         * 표지 업로드 작업 상태 조회 API (GET)
+         *
+         * <동작 개요>
+         * - 도서 등록/수정 시 표지는 별도 작업으로 업로드되므로, 해당 도서의 최근 표지 작업 상태를 반환한다.
+         *
+         * 응답 형식 (ResponseEntity<ApiResponse<CoverIngestStatusResponse>>)
+         * - 200: 조회 성공 (status: PENDING / RUNNING / DONE / FAILED / CANCELLED)
+         * - 400: 해당 도서의 표지 작업이 없는 경우
+         */
+        CoverIngestStatusResponse data = bookService.getCoverStatus(bookId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new ApiResponse<>("success", "표지작업상태조회성공", data));
     }
 
     @GetMapping("/detail/{bookId}")
     public ResponseEntity<ApiResponse<BookDetailResponse>> getBookDetail(
-            @PathVariable Long bookId
+            @PathVariable Long bookId,
+            WebRequest webRequest
     ) {
         /**
          * 도서 상세 조회 API (GET)
@@ -154,23 +424,32 @@ public class BookController {
          *   : 상세 조회할 도서의 고유 식별자(ID)
          *
          * 응답 형식 (ResponseEntity<ApiResponse<BookDetailResponse>>)
-         * - 200: 도서 상세 조회 성공
+         * - 200: 도서 상세 조회 성공 (ETag: 도서 version)
+         * - 304: If-None-Match 가 현재 ETag 와 같음 (본문 없음)
          * - 404: 해당 ID의 도서가 존재하지 않을 경우 (IllegalArgumentException 발생)
          * - 500: 서버 내부 오류 발생 시
          */
         log.info("도서 상세 조회 요청: bookId={}", bookId);
 
+        // 도서 version 이 그대로면 엔티티 로딩/직렬화 없이 304 Not Modified
+        String etag = bookService.getBookDetailETag(bookId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            log.info("도서 상세 조회 - 변경 없음(304): bookId={}", bookId);
+            return null;
+        }
+
         BookDetailResponse data = bookService.getBookDetail(bookId);
 
         log.info("도서 상세 조회 성공: bookId={}", bookId);
 
-        return ResponseEntity.ok(
-                new ApiResponse<>(
+        return ResponseEntity.ok()
+                .eTag(BookService.detailETag(data.getBookId(), data.getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(new ApiResponse<>(
                         "success",
                         "도서 상세 조회 성공",
                         data
-                )
-        );
+                ));
     }
 
 
@@ -209,6 +488,43 @@ public class BookController {
         );
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<?>> createBooks(
+            @RequestAttribute("userId") String userId,
+            @RequestBody BookBatchCreateRequest req
+    ) {
+        /**
+         * 도서 일괄 등록 API (POST)
+         *
+         * <동작 개요>
+         * - 다른 시스템의 도서 목록을 옮겨올 때 한 요청으로 여러 도서(최대 500건)를 등록한다.
+         * - 전체 항목을 먼저 검증하고, 하나라도 잘못되면 아무것도 저장하지 않는다.
+         * - 표지 이미지는 응답 이후 별도 스레드에서 업로드되며, 완료되면 imageUrl 이 채워진다.
+         *
+         * 요청 정보
+         * - @RequestAttribute("userId") String userId
+         *   : JwtAuthFilter에서 검증한 인증 사용자 ID
+         * - @RequestBody BookBatchCreateRequest req
+         *   : books 배열 (각 항목은 title, description, content, categoryId, imageUrl)
+         *
+         * 응답 형식 (ResponseEntity<ApiResponse<?>>)
+         * - 201: 등록 성공 (bookIds: 요청 순서대로 생성된 도서 ID, coverQueued: 표지 업로드 예약 건수)
+         * - 400: 건수 범위 초과, 필수 값 누락, 잘못된 categoryId (message 에 항목 index 포함)
+         * - 401: 사용자 미존재 등 RuntimeException 발생 시
+         * - 500: 서버 내부 오류
+         */
+        log.info("도서 일괄 등록 요청: userId={}, size={}",
+                userId, req.getBooks() != null ? req.getBooks().size() : 0);
+
+        BookBatchCreateResponse data = bookService.createBooks(userId, req);
+
+        log.info("도서 일괄 등록 성공: size={}", data.getBookIds().size());
+
+        return ResponseEntity.status(201).body(
+                new ApiResponse<>("success", "도서일괄등록완료", data)
+        );
+    }
+
     @PutMapping("/update/{bookId}")
     public ResponseEntity<ApiResponse<?>> updateBook(
             @RequestAttribute("userId") String userId,
@@ -234,6 +550,7 @@ public class BookController {
          * - 200: 성공 (200 OK)
          * - 400: 실패 필수 입력 값 누락, 잘못된 요청 데이터인 경우 (잘못된 요청)
          * - 401: 실패 사용자 정보가 없거나, 존재하지 않는 도서를 수정하려 하거나, 본인이 등록하지 않은 도서를 수정하려 할 경우 (인증/조회/권한 문제)
+         * - 409: 표지 작업 등과 동시에 수정되어 재시도 후에도 충돌한 경우 (다시 시도)
          * - 500: 그 외 예기치 못한 서버 내부 오류 발생 시 (서버 오류)
          */
         BookUpdateResponse data = bookService.updateBook(userId, bookId, req);
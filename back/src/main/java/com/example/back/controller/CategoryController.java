@@ -1,10 +1,11 @@
 package com.example.back.controller;
 
 import com.example.back.DTO.ApiResponse;
-import com.example.back.DTO.CategoryItemResponse;
+import com.example.back.DTO.CategoryFacetResponse;
 import com.example.back.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,33 +20,59 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoryItemResponse>>> getCategories() {
+    public ResponseEntity<byte[]> getCategories() {
         /**
          * 카테고리 목록 조회 API (GET)
          *
          * <동작 개요>
          * - 시스템에 등록된 전체 카테고리 목록을 조회하여 클라이언트에게 반환한다.
+         * - 응답 본문(ApiResponse<List<CategoryItemResponse>> JSON)은 CategoryRegistry 가 미리 직렬화해 둔 바이트를 그대로 사용한다.
          *
          * 요청 정보
          * - 별도의 요청 파라미터 없음
          *
-         * 응답 형식 (ResponseEntity<ApiResponse<List<CategoryItemResponse>>>)
+         * 응답 형식 (ResponseEntity<byte[]>, application/json)
          * - 200: 카테고리 목록 조회 성공
          * - 500: 서버 내부 오류 발생 시
          */
 
         log.info("카테고리 목록 조회 요청");
 
-        List<CategoryItemResponse> data = categoryService.getCategories();
+        byte[] body = categoryService.getCategoriesPayload();
 
-        log.info("카테고리 목록 조회 성공: size={}", data.size());
+        log.info("카테고리 목록 조회 성공: bytes={}", body.length);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<List<CategoryFacetResponse>>> getCategoryFacets() {
+        /**
+         * 카테고리별 도서 수 조회 API (GET)
+         *
+         * <동작 개요>
+         * - 카테고리 필터 UI 에 보여줄 카테고리 목록과 카테고리별 도서 수를 반환한다.
+         *   (목록 필터링은 /api/books?categoryId= 사용)
+         *
+         * 응답 형식 (ResponseEntity<ApiResponse<List<CategoryFacetResponse>>>)
+         * - 200: 조회 성공
+         * - 500: 서버 내부 오류 발생 시
+         */
+
+        log.info("카테고리별 도서 수 조회 요청");
+
+        List<CategoryFacetResponse> data = categoryService.getCategoryFacets();
+
+        log.info("카테고리별 도서 수 조회 성공: size={}", data.size());
 
         return ResponseEntity.ok(
                 new ApiResponse<>(
                         "success",
-                        "카테고리목록조회성공",
+                        "카테고리별도서수조회성공",
                         data
                 )
         );
     }
-}
\ No newline at end of file
+}
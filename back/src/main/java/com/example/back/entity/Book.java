@@ -3,17 +3,34 @@ package com.example.back.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "books")
+@Table(
+    name = "books",
+    indexes = {
+        // 카테고리 필터 + 최신순(book_id desc) 목록/커서 조회용
+        @Index(name = "idx_books_category_book", columnList = "category_id, book_id"),
+        // 다른 서버에서 등록/수정된 도서 검색 색인 따라잡기용
+        @Index(name = "idx_books_created_at", columnList = "created_at"),
+        @Index(name = "idx_books_updated_at", columnList = "updated_at")
+    }
+)
 @Getter
 @Setter
 public class Book {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY 는 INSERT 마다 키를 돌려받아야 해서 JDBC 배치가 꺼지므로,
+    // 시퀀스(MySQL 에서는 books_seq 테이블로 에뮬레이션)에서 50개씩 미리 할당받아 사용
+    // 기존 데이터와의 충돌은 BookSequenceAligner 가 기동 시 맞춘다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "books_seq", allocationSize = Book.ID_ALLOCATION_SIZE)
     @Column(name="book_id")
     private Long id; // PK (book id)
 
@@ -37,10 +54,24 @@ public class Book {
     @Column(name = "image_url", length = 500)
     private String imageUrl;   // AI 생성 표지 이미지 URL
 
+    @Column(name = "detail_image_url", length = 500)
+    private String detailImageUrl; // 상세 화면용 축소 이미지 URL
+
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;   // 목록 썸네일 URL
+
+    @Column(name = "cover_hash", length = 64)
+    private String coverHash;      // 표지 원본 SHA-256 (cover_objects 참조, 이전 방식으로 저장된 표지는 null)
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime created_at;
     
     @Column(name = "updated_at")
     private LocalDateTime updated_at;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version; // 수정될 때마다 증가 (상세 조회 ETag 용)
 }
@@ -0,0 +1,20 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+// 도서 카탈로그 전체 버전 (행은 id=1 하나, 모든 서버가 공유하는 목록 ETag 값)
+@Entity
+@Table(name = "catalog_revision")
+@Getter
+public class CatalogRevision {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
+    public CatalogRevision() {}
+}
@@ -0,0 +1,77 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "cover_ingest_jobs",
+    indexes = {
+        // 처리 대상(PENDING + 재시도 시각 도래) 조회용
+        @Index(name = "idx_cover_jobs_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_cover_jobs_book", columnList = "book_id")
+    }
+)
+@Getter
+@Setter
+public class CoverIngestJob {
+
+    public enum Status {
+        PENDING,    // 처리 대기 (최초 등록 / 재시도 대기)
+        RUNNING,    // 워커가 처리 중
+        DONE,       // 업로드 + image_url 반영 완료
+        FAILED,     // 최대 재시도 횟수 초과
+        CANCELLED   // 같은 도서에 새 표지 요청이 들어왔거나 도서가 삭제됨
+    }
+
+    // 일괄 등록 시 작업 INSERT 도 JDBC 배치로 묶이도록 시퀀스 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cover_ingest_job_seq")
+    @SequenceGenerator(name = "cover_ingest_job_seq", sequenceName = "cover_ingest_jobs_seq", allocationSize = 50)
+    @Column(name = "job_id")
+    private Long id;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "source_url", nullable = false, length = 2000)
+    private String sourceUrl; // 원본 이미지 URL
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts; // 시도 횟수
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt; // 다음 시도 가능 시각 (재시도 backoff)
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "result_url", length = 500)
+    private String resultUrl; // 업로드된 표지 URL
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CoverIngestJob() {}
+
+    public CoverIngestJob(Long bookId, String sourceUrl) {
+        LocalDateTime now = LocalDateTime.now();
+        this.bookId = bookId;
+        this.sourceUrl = sourceUrl;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cover_objects")
+@Getter
+@Setter
+public class CoverObject {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash; // 원본 이미지 SHA-256 (hex)
+
+    @Column(name = "original_key", nullable = false, length = 300)
+    private String originalKey;
+
+    @Column(name = "detail_key", length = 300)
+    private String detailKey;    // 변형 생성 불가 형식이면 null
+
+    @Column(name = "thumbnail_key", length = 300)
+    private String thumbnailKey; // 변형 생성 불가 형식이면 null
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount; // 이 이미지를 표지로 쓰는 도서 수 (0 이 되면 S3 객체 삭제)
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public CoverObject() {}
+
+    public CoverObject(String hash, String originalKey, String detailKey, String thumbnailKey,
+                       String contentType, long size) {
+        this.hash = hash;
+        this.originalKey = originalKey;
+        this.detailKey = detailKey;
+        this.thumbnailKey = thumbnailKey;
+        this.contentType = contentType;
+        this.size = size;
+        this.refCount = 1;
+        this.createdAt = LocalDateTime.now();
+    }
+}
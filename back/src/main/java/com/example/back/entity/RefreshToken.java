@@ -7,7 +7,13 @@ import lombok.Setter;
 @Entity
 @Getter
 @Setter
-@Table(name = "refresh_token")
+@Table(
+    name = "refresh_token",
+    indexes = {
+        // 만료 토큰 일괄 삭제용
+        @Index(name = "idx_refresh_token_expiry", columnList = "expiry")
+    }
+)
 public class RefreshToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
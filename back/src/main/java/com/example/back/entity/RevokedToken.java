@@ -0,0 +1,37 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = {
+        // 다른 서버에서 새로 추가된 항목 동기화용
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        // 만료 항목 일괄 삭제용
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+    }
+)
+@Getter
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    // 토큰 만료 시각 (epoch ms), 이후에는 어차피 검증에서 걸리므로 삭제
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, long expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.revokedAt = System.currentTimeMillis();
+    }
+}
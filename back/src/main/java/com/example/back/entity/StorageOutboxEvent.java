@@ -0,0 +1,82 @@
+package com.example.back.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "storage_outbox",
+    indexes = {
+        // 처리 대상(PENDING + 재시도 시각 도래) 조회용
+        @Index(name = "idx_storage_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_storage_outbox_claim", columnList = "claim_token"),
+        // 표지 재등록 시 같은 key 의 삭제 요청 조회/취소용
+        @Index(name = "idx_storage_outbox_key", columnList = "object_key")
+    }
+)
+@Getter
+@Setter
+public class StorageOutboxEvent {
+
+    public enum Type {
+        DELETE_OBJECT   // 표지 저장소 객체 삭제
+    }
+
+    public enum Status {
+        PENDING,    // 처리 대기 (최초 등록 / 재시도 대기)
+        RUNNING,    // 처리 중 (claim_token 으로 선점)
+        FAILED      // 최대 재시도 횟수 초과 (성공한 이벤트는 행 자체를 삭제)
+    }
+
+    // 도서 삭제 트랜잭션에서 여러 key 를 한 번에 INSERT 하므로 JDBC 배치가 되도록 시퀀스 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "storage_outbox_seq")
+    @SequenceGenerator(name = "storage_outbox_seq", sequenceName = "storage_outbox_seq", allocationSize = 50)
+    @Column(name = "event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private Type type;
+
+    @Column(name = "object_key", nullable = false, length = 300)
+    private String objectKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public StorageOutboxEvent() {}
+
+    public StorageOutboxEvent(Type type, String objectKey) {
+        LocalDateTime now = LocalDateTime.now();
+        this.type = type;
+        this.objectKey = objectKey;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+}
@@ -5,6 +5,7 @@ import io.jsonwebtoken.*;
 import java.util.Optional;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -50,6 +51,13 @@ public class GlobalExceptionHandler {
         return build(status, message);
     }
 
+    // ====== 409 Conflict ======
+    // 같은 행을 다른 요청/작업이 먼저 수정한 경우 (@Version 충돌) → 다시 조회 후 재시도하면 되는 오류
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLock(OptimisticLockingFailureException e) {
+        return build(HttpStatus.CONFLICT, "다른 요청과 동시에 수정되었습니다. 다시 시도해주세요.");
+    }
+
     // ====== 500 Database Error ======
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<?> handleDatabase(DataAccessException e) {
@@ -1,6 +1,9 @@
 package com.example.back.filter;
 
+import com.example.back.jwt.AuthPrincipal;
 import com.example.back.jwt.JwtUtil;
+import com.example.back.jwt.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +23,14 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+
+    // StreamingResponseBody 등 비동기 응답은 완료 후 ASYNC dispatch 로 필터 체인을 다시 타며,
+    // 인증 정보는 저장소에 남기지 않으므로(stateless) 그때도 다시 인증해야 AuthorizationFilter 를 통과함
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     @SuppressWarnings("null")
@@ -38,11 +49,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            jwtUtil.validateToken(token);
-            String userId = jwtUtil.getUserId(token);
+            // 서명/만료 검증과 userId 추출을 한 번의 파싱으로 처리 (최근 검증한 토큰은 캐시 사용)
+            Claims claims = jwtUtil.parseClaims(token);
+            AuthPrincipal principal = AuthPrincipal.from(claims);
+
+            // 로그아웃/탈퇴로 폐기된 토큰 (Bloom filter 로 먼저 거르고 양성일 때만 DB 확인)
+            if (tokenRevocationService.isRevoked(principal)) {
+                throw new RuntimeException("폐기된 토큰입니다.");
+            }
+            String userId = principal.userId();
             log.info("[JwtAuthFilter] 추출된 userId={}", userId);
 
+            // 컨트롤러/서비스는 토큰을 다시 파싱하지 않고 이 값만 사용
             request.setAttribute("userId", userId);
+            request.setAttribute(AuthPrincipal.ATTRIBUTE, principal);
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userId, null, List.of()); // 수정
 
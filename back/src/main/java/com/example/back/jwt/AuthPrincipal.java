@@ -0,0 +1,26 @@
+package com.example.back.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JwtAuthFilter 가 검증한 요청 사용자
+ * - 요청당 한 번 만들어 request attribute 로 저장하고, 컨트롤러에서는 AuthPrincipal 타입 파라미터로 받는다.
+ *   (서비스 계층은 토큰 문자열 대신 이 객체를 받아 토큰을 다시 파싱/검증하지 않음)
+ *
+ * @param userId    사용자 ID (sub)
+ * @param tokenId   토큰 ID (jti, 발급 시 넣지 않은 토큰이면 null)
+ * @param expiresAt 토큰 만료 시각 (epoch ms)
+ */
+public record AuthPrincipal(String userId, String tokenId, long expiresAt) {
+
+    // request attribute 이름
+    public static final String ATTRIBUTE = AuthPrincipal.class.getName();
+
+    public static AuthPrincipal from(Claims claims) {
+        return new AuthPrincipal(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L
+        );
+    }
+}
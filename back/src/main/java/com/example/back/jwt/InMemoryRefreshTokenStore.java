@@ -0,0 +1,82 @@
+package com.example.back.jwt;
+
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서버 메모리 기반 저장소 (단일 서버 / 로컬 실행용)
+ * - 조회/저장/삭제는 ConcurrentHashMap 한 번 (토큰 재발급 시 DB 조회 없음)
+ * - 만료 시각 순 우선순위 큐(TTL 색인)로 만료된 토큰만 꺼내 삭제 → 전체 맵을 훑지 않음
+ *   (교체/삭제된 토큰의 색인 항목은 그대로 두고, 꺼낼 때 현재 값과 다르면 건너뜀)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auth.refresh-store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Expiry(String userId, StoredToken stored) {}
+
+    private final ConcurrentHashMap<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final PriorityQueue<Expiry> expiries =
+            new PriorityQueue<>((a, b) -> Long.compare(a.stored().expiresAt(), b.stored().expiresAt()));
+    private final ReentrantLock expiryLock = new ReentrantLock();
+
+    @Override
+    public void save(String userId, String token, long expiresAt) {
+        StoredToken stored = new StoredToken(token, expiresAt);
+        tokens.put(userId, stored);
+
+        expiryLock.lock();
+        try {
+            expiries.add(new Expiry(userId, stored));
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredToken> find(String userId) {
+        return Optional.ofNullable(tokens.get(userId));
+    }
+
+    @Override
+    public void delete(String userId) {
+        tokens.remove(userId);
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${app.auth.refresh-store-purge-ms:600000}",
+            fixedDelayString = "${app.auth.refresh-store-purge-ms:600000}"
+    )
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+
+        expiryLock.lock();
+        try {
+            while (!expiries.isEmpty() && expiries.peek().stored().isExpired(now)) {
+                Expiry expiry = expiries.poll();
+                // 그 사이 다시 로그인해 교체된 토큰은 지우지 않음 (같은 객체일 때만 삭제)
+                if (tokens.remove(expiry.userId(), expiry.stored())) {
+                    removed++;
+                }
+            }
+        } finally {
+            expiryLock.unlock();
+        }
+
+        if (removed > 0) {
+            log.info("만료된 Refresh Token 삭제: {}건", removed);
+        }
+        return removed;
+    }
+}
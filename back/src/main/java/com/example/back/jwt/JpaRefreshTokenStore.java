@@ -0,0 +1,86 @@
+package com.example.back.jwt;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.back.repository.RefreshTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * refresh_token 테이블 기반 저장소
+ * - 저장은 user_id 유니크 키 기준 INSERT ... ON DUPLICATE KEY UPDATE 한 번 (조회 후 저장 2회 왕복 제거)
+ * - 만료된 행은 purge-ms 주기로 purge-chunk-size 건씩 나눠 삭제 (한 번에 큰 DELETE 로 락을 오래 잡지 않도록)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auth.refresh-store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int purgeChunkSize;
+
+    // purge 중복 실행 방지
+    private final AtomicBoolean purging = new AtomicBoolean(false);
+
+    public JpaRefreshTokenStore(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.auth.refresh-store-purge-chunk-size:1000}") int purgeChunkSize
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    @Override
+    public void save(String userId, String token, long expiresAt) {
+        refreshTokenRepository.upsert(userId, token, expiresAt);
+    }
+
+    @Override
+    public Optional<StoredToken> find(String userId) {
+        return refreshTokenRepository.findByUserId(userId)
+                .map(saved -> new StoredToken(saved.getToken(), saved.getExpiry()));
+    }
+
+    @Override
+    @Transactional
+    public void delete(String userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    @Scheduled(
+            initialDelayString = "${app.auth.refresh-store-purge-ms:600000}",
+            fixedDelayString = "${app.auth.refresh-store-purge-ms:600000}"
+    )
+    public int purgeExpired() {
+        if (!purging.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            int total = 0;
+            int deleted;
+            do {
+                deleted = refreshTokenRepository.deleteExpired(now, purgeChunkSize);
+                total += deleted;
+            } while (deleted >= purgeChunkSize);
+
+            if (total > 0) {
+                log.info("만료된 Refresh Token 삭제: {}건", total);
+            }
+            return total;
+        } catch (Exception e) {
+            log.error("만료된 Refresh Token 삭제 중 오류: {}", e.toString());
+            return 0;
+        } finally {
+            purging.set(false);
+        }
+    }
+}
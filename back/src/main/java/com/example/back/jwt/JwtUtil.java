@@ -1,9 +1,20 @@
 package com.example.back.jwt;
 
-import java.util.Date;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -11,24 +22,61 @@ import org.springframework.stereotype.Component;
 @Component
 public class JwtUtil {
 
+    private static final String CACHE_NAME = "jwtVerified";
+
     private final long ACCESS_TOKEN_EXP;
     private final long REFRESH_TOKEN_EXP;
     private final Key SECRET_KEY;
 
+    // 서명 키가 고정이므로 parser 는 한 번만 만들어 재사용 (thread-safe)
+    private final JwtParser parser;
+
+    // 최근 검증에 성공한 토큰 (key: 토큰 SHA-256, 토큰의 exp 시각에 만료)
+    // → 같은 토큰으로 들어오는 요청은 HMAC 서명 검증/JSON 파싱 없이 claims 재사용
+    private final Cache<String, Claims> verified;
+
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-expiration}") long accessExp,
-            @Value("${jwt.refresh-expiration}") long refreshExp
+            @Value("${jwt.refresh-expiration}") long refreshExp,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry
     ) {
         this.ACCESS_TOKEN_EXP = accessExp;
         this.REFRESH_TOKEN_EXP = refreshExp;
 
         this.SECRET_KEY = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY)
+                .build();
+
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return untilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return untilExpiration(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CACHE_NAME);
     }
 
-    // JWT 생성
+    // JWT 생성 (jti: 로그아웃 시 이 토큰만 폐기하기 위한 토큰 ID)
     public String createAccessToken(String userId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXP))
@@ -39,6 +87,7 @@ public class JwtUtil {
     // Refresh Token 생성
     public String createRefreshToken(String userId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXP))
@@ -46,25 +95,20 @@ public class JwtUtil {
                 .compact();
     }
 
-    // JWT에서 userId 추출
-    public String getUserId(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    // JWT 검증 + claims 반환 (요청당 한 번만 호출, 최근 검증한 토큰이면 캐시 사용)
+    public Claims parseClaims(String token) {
+        String key = hash(token);
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
 
-    // JWT 유효성 검사
-    public String validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token);
-
-            return "VALID";
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verified.put(key, claims);
+            }
+            return claims;
 
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("토큰이 만료되었습니다.");
@@ -77,13 +121,21 @@ public class JwtUtil {
         }
     }
 
+    // JWT에서 userId 추출
+    public String getUserId(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    // JWT 유효성 검사
+    public String validateToken(String token) {
+        parseClaims(token);
+        return "VALID";
+    }
+
     // Refresh Token 검증
     public void validateRefreshToken(String refreshToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(refreshToken);
+            parser.parseClaimsJws(refreshToken);
 
         } catch (ExpiredJwtException e) {
             throw new RuntimeException("리프레시 토큰이 만료되었습니다.");
@@ -95,4 +147,24 @@ public class JwtUtil {
             throw new RuntimeException("유효하지 않은 리프레시 토큰입니다.");
         }
     }
+
+    private static boolean isExpired(Claims claims) {
+        return claims.getExpiration() == null || claims.getExpiration().getTime() <= System.currentTimeMillis();
+    }
+
+    // exp 까지 남은 시간 (ns)
+    private static long untilExpiration(Claims claims) {
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Math.max(0, remainingMs) * 1_000_000L;
+    }
+
+    // 토큰 원문 대신 hash 를 캐시 key 로 사용 (메모리/힙 덤프에 토큰이 그대로 남지 않도록)
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
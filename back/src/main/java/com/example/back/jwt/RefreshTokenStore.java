@@ -0,0 +1,36 @@
+package com.example.back.jwt;
+
+import java.util.Optional;
+
+/**
+ * 사용자별 Refresh Token 저장소 (사용자당 1개)
+ *
+ * <구현>
+ * - JpaRefreshTokenStore      : refresh_token 테이블 (app.auth.refresh-store: jpa, 기본값)
+ * - InMemoryRefreshTokenStore : 서버 메모리 (app.auth.refresh-store: memory, 단일 서버/로컬 실행용, 재시작 시 다시 로그인 필요)
+ *
+ * 두 구현 모두 만료된 토큰을 주기적으로 일괄 삭제한다.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 저장된 토큰
+     *  - expiresAt : 만료 시각 (epoch ms)
+     */
+    record StoredToken(String token, long expiresAt) {
+
+        public boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    // 저장 (이미 있으면 교체)
+    void save(String userId, String token, long expiresAt);
+
+    Optional<StoredToken> find(String userId);
+
+    void delete(String userId);
+
+    // 만료된 토큰 삭제, 삭제 건수 반환
+    int purgeExpired();
+}
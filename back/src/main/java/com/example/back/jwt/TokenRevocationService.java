@@ -0,0 +1,192 @@
+package com.example.back.jwt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.back.cache.BloomFilter;
+import com.example.back.entity.RevokedToken;
+import com.example.back.repository.RevokedTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Access Token 폐기 목록 (로그아웃/회원 탈퇴한 토큰을 만료 전에 거부)
+ *
+ * <동작 개요>
+ * - 폐기된 토큰 ID(jti)는 revoked_tokens 테이블에 토큰 만료 시각과 함께 저장한다.
+ * - JwtAuthFilter 는 메모리의 Bloom filter 로 먼저 확인하고, filter 가 "있을 수도 있음"일 때만 DB 로 정확히 확인한다.
+ *   (대부분의 요청은 DB 조회 없이 해시 몇 번으로 끝남, 정확 확인 결과는 짧게 캐시)
+ * - 이 서버에서 폐기한 토큰은 DB 저장이 커밋된 뒤 filter 에 추가한다. (롤백된 로그아웃/탈퇴가 메모리에 남지 않도록)
+ * - 다른 서버에서 폐기된 토큰은 sync-ms 주기로 가져와 filter 에 추가한다. (최대 sync-ms 만큼 늦게 반영)
+ * - Bloom filter 는 삭제가 안 되므로 rebuild-ms 주기로 만료되지 않은 항목만으로 새로 만들어 교체하고,
+ *   만료된 행은 그때 DB 에서 나눠 삭제한다.
+ * - 기동 시 TokenRevocationInitializer 가 filter 를 처음 채우며, 그 전에 들어온 요청은 filter 없이 DB 로 확인한다.
+ * - jti 가 없는 토큰(이 기능 이전에 발급된 토큰)은 폐기 대상이 아니다.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    // 다른 서버와의 시계 차이 / 커밋 지연으로 동기화 누락이 없도록 겹쳐서 조회하는 구간
+    private static final long SYNC_OVERLAP_MS = 30_000;
+
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile long lastSyncedAt;
+    // 첫 rebuild 완료 전에는 filter 가 비어 있으므로 DB 로 확인
+    private volatile boolean loaded;
+
+    // filter 양성 시 DB 확인 결과 (jti → 폐기 여부)
+    private final Cache<String, Boolean> exactChecks;
+
+    private final Counter negative;
+    private final Counter falsePositive;
+    private final Counter revoked;
+
+    // sync / rebuild 각각 중복 실행 방지 (서로는 막지 않음, rebuild 가 교체 직후 최근 항목을 다시 추가)
+    private final AtomicBoolean syncing = new AtomicBoolean(false);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${app.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.auth.revocation.sync-ms:5000}") long syncMs
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.exactChecks = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(Math.max(syncMs, 1000)))
+                .build();
+
+        this.negative = Counter.builder("jwt.revocation.checks").tag("result", "negative").register(meterRegistry);
+        this.falsePositive = Counter.builder("jwt.revocation.checks").tag("result", "false-positive").register(meterRegistry);
+        this.revoked = Counter.builder("jwt.revocation.checks").tag("result", "revoked").register(meterRegistry);
+
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    // 폐기 여부 (요청마다 호출)
+    public boolean isRevoked(AuthPrincipal principal) {
+        String jti = principal.tokenId();
+        if (jti == null) {
+            return false;
+        }
+        if (loaded && !filter.mightContain(jti)) {
+            negative.increment();
+            return false;
+        }
+
+        boolean result = exactChecks.get(jti, revokedTokenRepository::existsById);
+        (result ? revoked : falsePositive).increment();
+        return result;
+    }
+
+    // 토큰 폐기 (로그아웃 / 회원 탈퇴)
+    public void revoke(AuthPrincipal principal) {
+        if (principal.tokenId() == null || principal.expiresAt() <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.insertIgnore(new RevokedToken(principal.tokenId(), principal.expiresAt()));
+        // 호출한 쪽 트랜잭션(로그아웃 / 회원 탈퇴)이 롤백되면 메모리에도 남기지 않음
+        afterCommit(() -> {
+            filter.put(principal.tokenId());
+            exactChecks.put(principal.tokenId(), Boolean.TRUE);
+            log.info("Access Token 폐기: userId={}, jti={}", principal.userId(), principal.tokenId());
+        });
+    }
+
+    // 트랜잭션 커밋 이후 실행 (트랜잭션 밖에서 호출되면 바로 실행)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 다른 서버에서 폐기된 토큰을 filter 에 추가
+    @Scheduled(
+            initialDelayString = "${app.auth.revocation.sync-ms:5000}",
+            fixedDelayString = "${app.auth.revocation.sync-ms:5000}"
+    )
+    public void sync() {
+        if (!syncing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            List<String> jtis = revokedTokenRepository.findJtisRevokedSince(lastSyncedAt - SYNC_OVERLAP_MS, now);
+            BloomFilter current = filter;
+            jtis.forEach(current::put);
+            lastSyncedAt = now;
+        } catch (Exception e) {
+            log.error("폐기 토큰 동기화 중 오류: {}", e.toString());
+        } finally {
+            syncing.set(false);
+        }
+    }
+
+    // 만료 항목 삭제 + 남은 항목으로 filter 재구성
+    @Scheduled(
+            initialDelayString = "${app.auth.revocation.rebuild-ms:600000}",
+            fixedDelayString = "${app.auth.revocation.rebuild-ms:600000}"
+    )
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+
+            int purged = 0;
+            int deleted;
+            do {
+                deleted = revokedTokenRepository.deleteExpired(now, PURGE_CHUNK_SIZE);
+                purged += deleted;
+            } while (deleted >= PURGE_CHUNK_SIZE);
+
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, jtis.size() * 2L), falsePositiveRate);
+            jtis.forEach(rebuilt::put);
+
+            filter = rebuilt;
+            // 위 조회와 교체 사이에 폐기되어 이전 filter 에만 들어간 토큰을 교체 직후 다시 추가
+            revokedTokenRepository.findJtisRevokedSince(now - SYNC_OVERLAP_MS, System.currentTimeMillis())
+                    .forEach(rebuilt::put);
+            lastSyncedAt = now;
+            loaded = true;
+            log.info("폐기 토큰 filter 재구성: 항목={}건, 만료 삭제={}건", jtis.size(), purged);
+        } catch (Exception e) {
+            log.error("폐기 토큰 filter 재구성 중 오류: {}", e.toString());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
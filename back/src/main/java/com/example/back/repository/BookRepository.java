@@ -1,12 +1,170 @@
 package com.example.back.repository;
 
+import com.example.back.DTO.BookExportRow;
+import com.example.back.DTO.BookSummary;
 import com.example.back.entity.Book;
-import org.springframework.data.domain.Page;
+import com.example.back.search.BookSearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    // 목록 조회 전용 projection (content/description, User, Category 엔티티 로딩 없음)
+    // COUNT 쿼리 없이 현재 페이지 행만 조회 — 건수는 BookCountService 사용
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c")
+    List<BookSummary> findSummaryRows(Pageable pageable);
+
+    // 카테고리 필터 목록 조회 — (category_id, book_id) 복합 인덱스로 정렬/필터를 함께 처리
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where c.id = :categoryId")
+    List<BookSummary> findSummaryRowsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    // 검색 projection (COUNT 쿼리 없이 현재 페이지 행만 조회, categoryId 는 null 이면 전체)
+    // 검색 색인 재구성 전에만 사용되는 fallback 경로 — 색인과 같이 제목/설명/내용 중 한 필드에 검색어가 포함된 도서
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where (lower(b.title) like lower(concat('%', :title, '%')) "
+         + "or lower(b.description) like lower(concat('%', :title, '%')) "
+         + "or lower(b.content) like lower(concat('%', :title, '%'))) "
+         + "and (:categoryId is null or c.id = :categoryId)")
+    List<BookSummary> searchSummaryRowsByText(@Param("title") String title,
+                                              @Param("categoryId") Long categoryId,
+                                              Pageable pageable);
+
+    @Query("select count(b) from Book b "
+         + "where (lower(b.title) like lower(concat('%', :title, '%')) "
+         + "or lower(b.description) like lower(concat('%', :title, '%')) "
+         + "or lower(b.content) like lower(concat('%', :title, '%'))) "
+         + "and (:categoryId is null or b.categoryId.id = :categoryId)")
+    long countByTextLike(@Param("title") String title, @Param("categoryId") Long categoryId);
+
+    @Query("select count(b) from Book b where b.categoryId.id = :categoryId")
+    long countByCategory(@Param("categoryId") Long categoryId);
+
+    // 카테고리별 도서 수 (BookCountService 동기화용) → [categoryId, count]
+    @Query("select b.categoryId.id, count(b) from Book b group by b.categoryId.id")
+    List<Object[]> countGroupByCategory();
+
+    // 커서 기반 목록 조회 (OFFSET / COUNT 없이 book_id 기준 seek)
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where b.id < :cursor "
+         + "order by b.id desc")
+    List<BookSummary> findSummariesBefore(@Param("cursor") Long cursor, Pageable pageable);
+
+    // 카테고리 필터 커서 조회 — (category_id, book_id) 복합 인덱스 range scan
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where c.id = :categoryId and b.id < :cursor "
+         + "order by b.id desc")
+    List<BookSummary> findSummariesByCategoryBefore(@Param("categoryId") Long categoryId,
+                                                    @Param("cursor") Long cursor,
+                                                    Pageable pageable);
+
+    // 커서 기반 검색 (색인 재구성 전 fallback, 조건은 searchSummaryRowsByText 와 동일)
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where b.id < :cursor "
+         + "and (lower(b.title) like lower(concat('%', :title, '%')) "
+         + "or lower(b.description) like lower(concat('%', :title, '%')) "
+         + "or lower(b.content) like lower(concat('%', :title, '%'))) "
+         + "and (:categoryId is null or c.id = :categoryId) "
+         + "order by b.id desc")
+    List<BookSummary> searchSummariesByTextBefore(@Param("title") String title,
+                                                  @Param("categoryId") Long categoryId,
+                                                  @Param("cursor") Long cursor,
+                                                  Pageable pageable);
+
+    // 검색 색인 결과(bookId 목록)에 해당하는 행만 조회
+    @Query("select new com.example.back.DTO.BookSummary("
+         + "b.id, b.title, c.name, b.imageUrl, b.thumbnailUrl, b.created_at, b.updated_at) "
+         + "from Book b join b.categoryId c "
+         + "where b.id in :ids")
+    List<BookSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 검색 색인 재구성용 (book_id 기준 청크 조회)
+    @Query("select new com.example.back.search.BookSearchDocument("
+         + "b.id, b.categoryId.id, b.title, b.description, b.content, b.version) "
+         + "from Book b "
+         + "where b.id > :lastId "
+         + "order by b.id asc")
+    List<BookSearchDocument> findSearchDocumentsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 검색 색인 따라잡기용: since 이후 등록/수정된 도서 (다른 서버 변경 반영, book_id 기준 청크 조회)
+    @Query("select new com.example.back.search.BookSearchDocument("
+         + "b.id, b.categoryId.id, b.title, b.description, b.content, b.version) "
+         + "from Book b "
+         + "where (b.created_at >= :since or b.updated_at >= :since) and b.id > :lastId "
+         + "order by b.id asc")
+    List<BookSearchDocument> findSearchDocumentsChangedSince(@Param("since") LocalDateTime since,
+                                                             @Param("lastId") Long lastId,
+                                                             Pageable pageable);
+
+    // 상세 조회 ETag 확인용 (엔티티 로딩 없이 version 컬럼만 조회)
+    @Query("select b.version from Book b where b.id = :bookId")
+    Optional<Long> findVersionById(@Param("bookId") Long bookId);
+
+    // 비동기 표지 업로드 결과 반영 (엔티티 로딩 없이 UPDATE 한 번, 상세 ETag 가 바뀌도록 version 도 증가)
+    @Transactional
+    @Modifying
+    @Query("update Book b set b.imageUrl = :imageUrl, b.detailImageUrl = :detailImageUrl, "
+         + "b.thumbnailUrl = :thumbnailUrl, b.coverHash = :coverHash, b.version = b.version + 1 "
+         + "where b.id = :bookId")
+    int updateCoverUrls(@Param("bookId") Long bookId,
+                        @Param("imageUrl") String imageUrl,
+                        @Param("detailImageUrl") String detailImageUrl,
+                        @Param("thumbnailUrl") String thumbnailUrl,
+                        @Param("coverHash") String coverHash);
+
+    // 표지 교체 시 이전 표지 정리용 (coverHash 가 없으면 내용 주소 방식 이전에 bookId key 로 저장된 표지)
+    interface CoverRef {
+        String getCoverHash();
+        String getImageUrl();
+        String getDetailImageUrl();
+        String getThumbnailUrl();
+    }
+
+    @Query("select b.coverHash as coverHash, b.imageUrl as imageUrl, "
+         + "b.detailImageUrl as detailImageUrl, b.thumbnailUrl as thumbnailUrl "
+         + "from Book b where b.id = :bookId")
+    Optional<CoverRef> findCoverRefById(@Param("bookId") Long bookId);
+
+    // 전체 내보내기용 forward-only 스트림
+    // fetchSize = Integer.MIN_VALUE → MySQL 드라이버가 결과를 한 번에 받지 않고 행 단위로 스트리밍
+    // (호출 측은 읽기 전용 트랜잭션 안에서 사용 후 반드시 close)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.back.DTO.BookExportRow("
+         + "b.id, b.user.id, b.categoryId.id, b.title, b.description, b.content, "
+         + "b.imageUrl, b.created_at, b.updated_at) "
+         + "from Book b "
+         + "where (:categoryId is null or b.categoryId.id = :categoryId) "
+         + "and (:userId is null or b.user.id = :userId) "
+         + "order by b.id asc")
+    Stream<BookExportRow> streamExportRows(@Param("categoryId") Long categoryId,
+                                           @Param("userId") String userId);
 }
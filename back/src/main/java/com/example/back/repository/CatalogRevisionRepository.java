@@ -0,0 +1,40 @@
+package com.example.back.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.back.entity.CatalogRevision;
+
+public interface CatalogRevisionRepository extends JpaRepository<CatalogRevision, Integer> {
+
+    // 현재 버전 (커밋 이후 콜백에서도 호출되므로 별도 트랜잭션)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("select c.revision from CatalogRevision c where c.id = 1")
+    Optional<Long> findRevision();
+
+    // 버전 1 증가 후 증가된 값 반환, 행이 없으면 initial 로 생성
+    // (테이블을 새로 만든 경우에도 이전 ETag 와 겹치지 않도록 initial 은 현재 시각을 넘김)
+    // 커밋 이후 콜백에서도 호출되므로 별도 트랜잭션, 같은 커넥션에서 LAST_INSERT_ID() 로 이 호출이 만든 값을 읽음
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    default long incrementAndGet(long initial) {
+        increment(initial);
+        return lastInsertId();
+    }
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into catalog_revision (id, revision) values (1, last_insert_id(:initial)) "
+                 + "on duplicate key update revision = last_insert_id(revision + 1)",
+           nativeQuery = true)
+    int increment(@Param("initial") long initial);
+
+    @Transactional
+    @Query(value = "select last_insert_id()", nativeQuery = true)
+    long lastInsertId();
+}
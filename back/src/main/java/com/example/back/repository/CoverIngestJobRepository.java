@@ -0,0 +1,91 @@
+package com.example.back.repository;
+
+import com.example.back.entity.CoverIngestJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CoverIngestJobRepository extends JpaRepository<CoverIngestJob, Long> {
+
+    // 처리할 차례가 된 작업 ID (오래 기다린 순)
+    @Query("select j.id from CoverIngestJob j "
+         + "where j.status = com.example.back.entity.CoverIngestJob.Status.PENDING "
+         + "and j.nextAttemptAt <= :now "
+         + "order by j.nextAttemptAt asc")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // PENDING → RUNNING 선점 (조건부 UPDATE 라 여러 노드가 같은 작업을 동시에 가져가지 않음, 1 이면 선점 성공)
+    // 선점할 때 시도 횟수를 올림 → 처리 중 워커가 죽거나 멈춰 stale 복구되는 경우도 시도로 셈
+    @Transactional
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = com.example.back.entity.CoverIngestJob.Status.RUNNING, "
+         + "j.attempts = j.attempts + 1, j.updatedAt = :now "
+         + "where j.id = :jobId and j.status = com.example.back.entity.CoverIngestJob.Status.PENDING")
+    int claim(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    // 워커 스레드 풀이 가득 차 제출하지 못한 작업을 다시 대기 상태로 (시도하지 않았으므로 선점 때 올린 횟수도 되돌림)
+    @Transactional
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = com.example.back.entity.CoverIngestJob.Status.PENDING, "
+         + "j.attempts = j.attempts - 1, j.updatedAt = :now "
+         + "where j.id = :jobId and j.status = com.example.back.entity.CoverIngestJob.Status.RUNNING")
+    int release(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    // 처리 도중 서버가 내려가 RUNNING 으로 남은 작업 중 최대 시도 횟수에 도달한 작업은 FAILED
+    // (다운로드/처리 중 워커를 죽이는 URL 이 끝없이 다시 시도되지 않도록, requeueStale 보다 먼저 실행)
+    @Transactional
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = com.example.back.entity.CoverIngestJob.Status.FAILED, "
+         + "j.lastError = :error, j.updatedAt = :now "
+         + "where j.status = com.example.back.entity.CoverIngestJob.Status.RUNNING and j.updatedAt < :staleBefore "
+         + "and j.attempts >= :maxAttempts")
+    int failStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                  @Param("error") String error, @Param("now") LocalDateTime now);
+
+    // 처리 도중 서버가 내려가 RUNNING 으로 남은 작업 복구
+    @Transactional
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = com.example.back.entity.CoverIngestJob.Status.PENDING, j.updatedAt = :now "
+         + "where j.status = com.example.back.entity.CoverIngestJob.Status.RUNNING and j.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    // 처리 결과 기록: 이 워커가 선점한 그 시도(RUNNING + 선점 시 올린 attempts)일 때만 반영
+    // (stale 복구 후 다른 워커가 다시 선점한 작업을 이전 워커의 결과로 덮어쓰지 않도록, 0 이면 반영 안 됨)
+    @Transactional
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = :status, j.resultUrl = :resultUrl, j.lastError = :error, "
+         + "j.nextAttemptAt = :nextAttemptAt, j.updatedAt = :now "
+         + "where j.id = :jobId and j.status = com.example.back.entity.CoverIngestJob.Status.RUNNING "
+         + "and j.attempts = :attempts")
+    int finishClaimed(@Param("jobId") Long jobId,
+                      @Param("attempts") int attempts,
+                      @Param("status") CoverIngestJob.Status status,
+                      @Param("resultUrl") String resultUrl,
+                      @Param("error") String error,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("now") LocalDateTime now);
+
+    // 같은 도서의 대기 중 작업 취소 (새 표지 요청 / 도서 삭제 시)
+    @Modifying
+    @Query("update CoverIngestJob j "
+         + "set j.status = com.example.back.entity.CoverIngestJob.Status.CANCELLED, j.updatedAt = :now "
+         + "where j.bookId = :bookId and j.status = com.example.back.entity.CoverIngestJob.Status.PENDING")
+    int cancelPendingByBookId(@Param("bookId") Long bookId, @Param("now") LocalDateTime now);
+
+    // 도서의 가장 최근 표지 작업 (상태 조회용)
+    Optional<CoverIngestJob> findTopByBookIdOrderByIdDesc(Long bookId);
+}
@@ -0,0 +1,48 @@
+package com.example.back.repository;
+
+import com.example.back.entity.CoverObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CoverObjectRepository extends JpaRepository<CoverObject, String> {
+
+    // 도서의 현재 표지 객체 (표지 프록시 조회용)
+    @Query("select o from CoverObject o where o.hash = (select b.coverHash from Book b where b.id = :bookId)")
+    Optional<CoverObject> findByBookId(@Param("bookId") Long bookId);
+
+    // 주어진 key 중 하나라도 쓰는 객체 (삭제 예약 후 같은 이미지가 다시 등록된 경우 확인용)
+    @Query("select o from CoverObject o "
+         + "where o.originalKey in :keys or o.detailKey in :keys or o.thumbnailKey in :keys")
+    List<CoverObject> findByAnyKeyIn(@Param("keys") Collection<String> keys);
+
+    // 참조 수 증가 (0 이면 행이 없음 → 새로 업로드 필요)
+    @Modifying
+    @Query("update CoverObject o set o.refCount = o.refCount + 1 where o.hash = :hash")
+    int increment(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update CoverObject o set o.refCount = o.refCount - 1 where o.hash = :hash and o.refCount > 0")
+    int decrement(@Param("hash") String hash);
+
+    // 참조가 0 인 경우에만 삭제 (1 이면 삭제됨 → 호출 측에서 S3 객체 정리)
+    @Modifying
+    @Query("delete from CoverObject o where o.hash = :hash and o.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    // 이미 같은 hash 가 있으면 무시 (동시에 같은 이미지를 올린 경우), 1 이면 새로 등록됨
+    @Modifying
+    @Query(value = "insert ignore into cover_objects "
+                 + "(hash, original_key, detail_key, thumbnail_key, content_type, size, ref_count, created_at) "
+                 + "values (:#{#o.hash}, :#{#o.originalKey}, :#{#o.detailKey}, :#{#o.thumbnailKey}, "
+                 + ":#{#o.contentType}, :#{#o.size}, :#{#o.refCount}, :#{#o.createdAt})",
+           nativeQuery = true)
+    int insertIgnore(@Param("o") CoverObject o);
+}
@@ -3,11 +3,28 @@ package com.example.back.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.back.entity.RefreshToken;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findByUserId(String userId);  // PK가 아니라 user_id 컬럼 기반 조회
     void deleteByUserId(String userId);
-}
 
+    // user_id 유니크 키 기준 저장 (없으면 INSERT, 있으면 토큰/만료 시각만 교체)
+    @Transactional
+    @Modifying
+    @Query(value = "insert into refresh_token (user_id, token, expiry) values (:userId, :token, :expiry) "
+                 + "on duplicate key update token = values(token), expiry = values(expiry)",
+           nativeQuery = true)
+    int upsert(@Param("userId") String userId, @Param("token") String token, @Param("expiry") long expiry);
+
+    // 만료된 행을 최대 limit 건 삭제 (expiry 인덱스 사용)
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_token where expiry < :now limit :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
@@ -0,0 +1,36 @@
+package com.example.back.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.back.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 아직 만료되지 않은 폐기 토큰 ID (Bloom filter 재구성용)
+    @Query("select r.jti from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") long now);
+
+    // since 이후 폐기된 토큰 ID (다른 서버에서 추가된 항목 동기화용)
+    @Query("select r.jti from RevokedToken r where r.revokedAt >= :since and r.expiresAt > :now")
+    List<String> findJtisRevokedSince(@Param("since") long since, @Param("now") long now);
+
+    // 이미 있으면 무시 (같은 토큰으로 로그아웃을 여러 번 호출한 경우)
+    @Transactional
+    @Modifying
+    @Query(value = "insert ignore into revoked_tokens (jti, expires_at, revoked_at) "
+                 + "values (:#{#r.jti}, :#{#r.expiresAt}, :#{#r.revokedAt})",
+           nativeQuery = true)
+    int insertIgnore(@Param("r") RevokedToken r);
+
+    // 만료된 행을 최대 limit 건 삭제
+    @Transactional
+    @Modifying
+    @Query(value = "delete from revoked_tokens where expires_at <= :now limit :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
@@ -0,0 +1,62 @@
+package com.example.back.repository;
+
+import com.example.back.entity.StorageOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StorageOutboxRepository extends JpaRepository<StorageOutboxEvent, Long> {
+
+    // 처리할 차례가 된 이벤트 ID (오래 기다린 순)
+    @Query("select e.id from StorageOutboxEvent e "
+         + "where e.status = com.example.back.entity.StorageOutboxEvent.Status.PENDING "
+         + "and e.nextAttemptAt <= :now "
+         + "order by e.nextAttemptAt asc")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // PENDING → RUNNING 일괄 선점 (조건부 UPDATE, 다른 노드가 먼저 가져간 행은 제외됨)
+    @Transactional
+    @Modifying
+    @Query("update StorageOutboxEvent e "
+         + "set e.status = com.example.back.entity.StorageOutboxEvent.Status.RUNNING, "
+         + "e.claimToken = :token, e.updatedAt = :now "
+         + "where e.id in :ids and e.status = com.example.back.entity.StorageOutboxEvent.Status.PENDING")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    List<StorageOutboxEvent> findByClaimToken(String claimToken);
+
+    // 처리 도중 서버가 내려가 RUNNING 으로 남은 이벤트 복구
+    @Transactional
+    @Modifying
+    @Query("update StorageOutboxEvent e "
+         + "set e.status = com.example.back.entity.StorageOutboxEvent.Status.PENDING, "
+         + "e.claimToken = null, e.updatedAt = :now "
+         + "where e.status = com.example.back.entity.StorageOutboxEvent.Status.RUNNING and e.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    // 아직 처리 전(PENDING / FAILED)인 삭제 요청 취소 (표지 재등록 트랜잭션에서 호출)
+    @Modifying
+    @Query("delete from StorageOutboxEvent e "
+         + "where e.objectKey in :keys "
+         + "and e.status <> com.example.back.entity.StorageOutboxEvent.Status.RUNNING")
+    int deleteNotRunningByKeys(@Param("keys") Collection<String> keys);
+
+    // 삭제 처리 중인 요청 (공유 잠금 읽기 → 방금 커밋된 선점까지 보이고, 등록이 끝날 때까지 선점 상태 변경 대기)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select e from StorageOutboxEvent e "
+         + "where e.objectKey in :keys "
+         + "and e.status = com.example.back.entity.StorageOutboxEvent.Status.RUNNING")
+    List<StorageOutboxEvent> findRunningByKeys(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,33 @@
+package com.example.back.search;
+
+import lombok.Getter;
+
+/**
+ * 검색 색인 대상 도서 한 건
+ *  - 색인 재구성 시 BookRepository 에서 JPQL constructor expression 으로 생성되며,
+ *    도서 등록/수정 시에도 같은 형태로 BookSearchIndex 에 전달된다.
+ */
+@Getter
+public class BookSearchDocument {
+
+    private final Long bookId;
+    private final Long categoryId;
+    private final String title;
+    private final String description;
+    private final String content;
+    // 도서 version (@Version), 더 오래된 값으로 색인을 덮어쓰지 않기 위함 (null 이면 비교하지 않음)
+    private final Long version;
+
+    public BookSearchDocument(Long bookId, Long categoryId, String title, String description, String content) {
+        this(bookId, categoryId, title, description, content, null);
+    }
+
+    public BookSearchDocument(Long bookId, Long categoryId, String title, String description, String content, Long version) {
+        this.bookId = bookId;
+        this.categoryId = categoryId;
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.version = version;
+    }
+}
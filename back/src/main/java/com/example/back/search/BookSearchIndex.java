@@ -0,0 +1,460 @@
+package com.example.back.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 도서 제목/설명/내용에 대한 인메모리 n-gram 역색인
+ *
+ * <동작 개요>
+ * - 텍스트를 NFKC 정규화 + 소문자 변환 후 문자/숫자 단위 토큰으로 나누고,
+ *   각 토큰에서 1-gram, 2-gram 을 만들어 gram → bookId 목록(posting)으로 저장한다.
+ *   (형태소 분석 없이도 한글 부분 문자열 검색이 가능하도록 n-gram 사용)
+ * - posting 은 bookId 오름차순 long 배열 + 같은 위치의 필드 비트(제목/설명/내용) byte 배열이다.
+ *   (도서별 gram 집합이나 boxed Long 집합을 두지 않아 도서 1건당 메모리가 gram 수 × 9 byte 수준)
+ * - 도서별로는 카테고리와 정규화된 원문만 보관하고, 삭제/수정 시 원문을 다시 토큰화해서 posting 에서 뺀다.
+ * - 검색어의 모든 gram 을 포함하는 도서를 후보로 좁힌 뒤, 정규화된 검색어가 제목/설명/내용 중 한 필드에
+ *   그대로 들어 있는 도서만 남긴다. (DB fallback 의 LIKE '%검색어%' 와 같은 조건, gram 이 여러 필드에 흩어진 경우 제외)
+ *   남은 도서는 제목 > 설명 > 내용 순의 가중치로 점수를 매겨 정렬한다.
+ * - BookService 의 등록/수정/삭제 커밋 이후 즉시 반영되고, 기동 시 DB 에서 재구성된다.
+ *   다른 서버의 등록/수정은 BookSearchIndexSync 가 카탈로그 버전 변경 시 DB 에서 읽어 반영하고,
+ *   다른 서버에서 삭제된 도서는 검색 결과를 DB 에서 조회할 때 없는 것으로 확인되면 BookService 가 제거한다.
+ * - 도서 version 이 함께 오면 이미 색인된 version 보다 오래된 값은 반영하지 않는다. (따라잡기와 커밋 콜백이 겹치는 경우)
+ *   재구성 중 커밋 콜백으로 들어온 도서(삭제 포함)는 기록해 두고, 재구성이 읽어 온 이전 값으로 덮어쓰지 않는다.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    // 제목에 검색어 원문이 그대로 포함된 경우 추가 점수
+    private static final int TITLE_PHRASE_BONUS = 3;
+
+    // posting 필드 비트
+    private static final byte TITLE = 1;
+    private static final byte DESCRIPTION = 2;
+    private static final byte CONTENT = 4;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Posting> postings = new HashMap<>();     // gram → bookId 목록
+    private final Map<Long, IndexedBook> books = new HashMap<>();      // bookId → 색인된 원문
+
+    // 재구성 중 커밋 콜백으로 반영/삭제된 bookId (markReady 때 비움) — writeLock 보유 상태에서만 접근
+    private final Set<Long> liveUpdated = new HashSet<>();
+
+    private volatile boolean ready = false;
+
+    /**
+     * 색인 결과
+     *  - total   : 검색어에 매칭된 전체 도서 수
+     *  - bookIds : 요청한 구간(offset, limit)의 bookId (정렬 순서 유지)
+     */
+    public record Hits(long total, List<Long> bookIds) {}
+
+    // 검색 가능한 상태인지 (기동 시 재구성 완료 이후 true)
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            this.ready = true;
+            liveUpdated.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 도서 색인 추가/갱신 (이미 있으면 기존 gram 을 지우고 다시 등록, 이미 더 새 version 이 색인돼 있으면 false)
+    public boolean index(BookSearchDocument doc) {
+        return indexInternal(doc, false);
+    }
+
+    // 기동 시 재구성용 색인: 재구성 도중 커밋 콜백으로 이미 반영/삭제된 도서면 건너뛰고 false 반환
+    public boolean indexFromRebuild(BookSearchDocument doc) {
+        return indexInternal(doc, true);
+    }
+
+    // 도서 색인 제거
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                liveUpdated.add(bookId);
+            }
+            removeInternal(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean indexInternal(BookSearchDocument doc, boolean fromRebuild) {
+        if (doc == null || doc.getBookId() == null) {
+            return false;
+        }
+
+        long bookId = doc.getBookId();
+        IndexedBook indexed = new IndexedBook(
+                doc.getVersion(),
+                doc.getCategoryId(),
+                normalize(doc.getTitle()),
+                normalize(doc.getDescription()),
+                normalize(doc.getContent())
+        );
+        Map<String, Byte> fields = indexed.gramFields();
+
+        lock.writeLock().lock();
+        try {
+            if (fromRebuild) {
+                if (liveUpdated.contains(bookId)) {
+                    return false;
+                }
+            } else if (!ready) {
+                liveUpdated.add(bookId);
+            }
+
+            IndexedBook existing = books.get(bookId);
+            if (existing != null && existing.isNewerThan(indexed)) {
+                return false;
+            }
+
+            removeInternal(bookId);
+            books.put(bookId, indexed);
+            fields.forEach((gram, mask) -> postings.computeIfAbsent(gram, g -> new Posting()).add(bookId, mask));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 점수순 검색 (페이지 조회용)
+     * - 점수 내림차순, 동점이면 bookId 내림차순(최신순)
+     * - categoryId 가 null 이 아니면 해당 카테고리 도서만
+     */
+    public Hits search(String query, Long categoryId, int offset, int limit) {
+        List<String> queryGrams = new ArrayList<>(grams(query));
+        if (queryGrams.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+        String phrase = normalize(query);
+
+        List<ScoredBook> scored = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Posting[] lists = postingsOf(queryGrams);
+            if (lists != null) {
+                Posting shortest = lists[0];
+                for (int i = 0; i < shortest.size; i++) {
+                    long bookId = shortest.ids[i];
+                    IndexedBook book = books.get(bookId);
+                    if (book == null || !book.inCategory(categoryId)) {
+                        continue;
+                    }
+                    FieldHits hits = fieldHits(lists, bookId);
+                    if (hits != null && book.containsPhrase(phrase)) {
+                        scored.add(new ScoredBook(bookId, book.score(hits, queryGrams.size(), phrase)));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        scored.sort(Comparator.comparingInt(ScoredBook::score).reversed()
+                .thenComparing(ScoredBook::bookId, Comparator.reverseOrder()));
+
+        List<Long> pageIds = scored.stream()
+                .skip(Math.max(offset, 0))
+                .limit(Math.max(limit, 0))
+                .map(ScoredBook::bookId)
+                .toList();
+
+        return new Hits(scored.size(), pageIds);
+    }
+
+    /**
+     * bookId 순 검색 (커서 조회용)
+     * - cursor 보다 작은 bookId 중 매칭된 도서를 bookId 내림차순으로 limit 건 반환
+     * - posting 이 bookId 순으로 정렬되어 있으므로 cursor 위치부터 거꾸로 읽다가 limit 건이 차면 멈춤
+     * - categoryId 가 null 이 아니면 해당 카테고리 도서만
+     */
+    public List<Long> searchBefore(String query, Long categoryId, long cursor, int limit) {
+        List<String> queryGrams = new ArrayList<>(grams(query));
+        if (queryGrams.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        String phrase = normalize(query);
+        List<Long> matched = new ArrayList<>(limit);
+
+        lock.readLock().lock();
+        try {
+            Posting[] lists = postingsOf(queryGrams);
+            if (lists == null) {
+                return List.of();
+            }
+
+            Posting shortest = lists[0];
+            int pos = shortest.indexOf(cursor);
+            int start = pos >= 0 ? pos - 1 : -pos - 2;
+            for (int i = start; i >= 0 && matched.size() < limit; i--) {
+                long bookId = shortest.ids[i];
+                IndexedBook book = books.get(bookId);
+                if (book != null && book.inCategory(categoryId)
+                        && fieldHits(lists, bookId) != null && book.containsPhrase(phrase)) {
+                    matched.add(bookId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matched;
+    }
+
+    // 검색어 gram 별 posting (짧은 순), 하나라도 없으면 null — readLock 보유 상태에서 호출
+    private Posting[] postingsOf(List<String> queryGrams) {
+        Posting[] lists = new Posting[queryGrams.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(queryGrams.get(i));
+            if (lists[i] == null) {
+                return null;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+        return lists;
+    }
+
+    // 모든 gram 의 posting 에 있으면 필드별 포함 gram 수, 하나라도 없으면 null
+    private static FieldHits fieldHits(Posting[] lists, long bookId) {
+        int title = 0;
+        int description = 0;
+        int content = 0;
+        for (Posting posting : lists) {
+            int pos = posting.indexOf(bookId);
+            if (pos < 0) {
+                return null;
+            }
+            byte mask = posting.fields[pos];
+            if ((mask & TITLE) != 0) title++;
+            if ((mask & DESCRIPTION) != 0) description++;
+            if ((mask & CONTENT) != 0) content++;
+        }
+        return new FieldHits(title, description, content);
+    }
+
+    // writeLock 보유 상태에서 호출 (보관한 원문을 다시 토큰화해서 해당 posting 에서만 제거)
+    private void removeInternal(long bookId) {
+        IndexedBook old = books.remove(bookId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old.gramFields().keySet()) {
+            Posting posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(bookId);
+                if (posting.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // ===================================================================
+    // 토큰화 (NFKC + 소문자, 문자/숫자 토큰 → 1-gram / 2-gram)
+    // ===================================================================
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim();
+    }
+
+    // 검색어 gram (2글자 이상 토큰은 2-gram, 1글자 토큰은 1-gram)
+    static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        forEachToken(normalize(text), token -> {
+            if (token.length() == 1) {
+                grams.add(token.toString());
+                return;
+            }
+            for (int i = 0; i < token.length() - 1; i++) {
+                grams.add(token.subSequence(i, i + 2).toString());
+            }
+        });
+        return grams;
+    }
+
+    // 색인 gram (2-gram + 한 글자 검색어 대응용 1-gram) — 이미 정규화된 텍스트를 받음
+    static Set<String> indexGrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        forEachToken(normalized, token -> {
+            for (int i = 0; i < token.length(); i++) {
+                grams.add(String.valueOf(token.charAt(i)));
+                if (i + 1 < token.length()) {
+                    grams.add(token.subSequence(i, i + 2).toString());
+                }
+            }
+        });
+        return grams;
+    }
+
+    private static void forEachToken(String normalized, Consumer<CharSequence> action) {
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                token.append(ch);
+            } else if (!token.isEmpty()) {
+                action.accept(token);
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            action.accept(token);
+        }
+    }
+
+    private record ScoredBook(long bookId, int score) {}
+
+    private record FieldHits(int title, int description, int content) {}
+
+    /**
+     * gram 하나의 posting (writeLock 보유 상태에서만 변경)
+     * - ids 는 bookId 오름차순, fields[i] 는 ids[i] 도서에서 이 gram 이 나온 필드 비트
+     * - 대부분의 gram 은 도서가 몇 건 안 되므로 작은 크기부터 조금씩 늘림
+     */
+    private static final class Posting {
+
+        private long[] ids = new long[1];
+        private byte[] fields = new byte[1];
+        private int size;
+
+        private int indexOf(long bookId) {
+            return Arrays.binarySearch(ids, 0, size, bookId);
+        }
+
+        private void add(long bookId, byte mask) {
+            int pos = indexOf(bookId);
+            if (pos >= 0) {
+                fields[pos] |= mask;
+                return;
+            }
+
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                int capacity = size < 4 ? size + 1 : size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                fields = Arrays.copyOf(fields, capacity);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(fields, insertAt, fields, insertAt + 1, size - insertAt);
+            ids[insertAt] = bookId;
+            fields[insertAt] = mask;
+            size++;
+        }
+
+        private void remove(long bookId) {
+            int pos = indexOf(bookId);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(fields, pos + 1, fields, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    private static final class IndexedBook {
+
+        private final Long version;
+        private final Long categoryId;
+        private final String title;
+        private final String description;
+        private final String content;
+
+        private IndexedBook(Long version, Long categoryId, String title, String description, String content) {
+            this.version = version;
+            this.categoryId = categoryId;
+            this.title = title;
+            this.description = description;
+            this.content = content;
+        }
+
+        private boolean isNewerThan(IndexedBook other) {
+            return version != null && other.version != null && version > other.version;
+        }
+
+        private boolean inCategory(Long filterCategoryId) {
+            return filterCategoryId == null || filterCategoryId.equals(categoryId);
+        }
+
+        // 검색어가 한 필드 안에 연속으로 들어 있는지 (gram 교집합 후보 검증)
+        private boolean containsPhrase(String phrase) {
+            return title.contains(phrase) || description.contains(phrase) || content.contains(phrase);
+        }
+
+        // gram → 나온 필드 비트 (색인/제거 시에만 잠깐 만듦)
+        private Map<String, Byte> gramFields() {
+            Map<String, Byte> fields = new LinkedHashMap<>();
+            addFields(fields, title, TITLE);
+            addFields(fields, description, DESCRIPTION);
+            addFields(fields, content, CONTENT);
+            return fields;
+        }
+
+        private static void addFields(Map<String, Byte> fields, String text, byte field) {
+            for (String gram : indexGrams(text)) {
+                fields.merge(gram, field, (a, b) -> (byte) (a | b));
+            }
+        }
+
+        // 필드별로 포함된 검색어 gram 비율 × 가중치 (정수 연산을 위해 100 배)
+        private int score(FieldHits hits, int total, String phrase) {
+            int score = (hits.title() * TITLE_WEIGHT
+                    + hits.description() * DESCRIPTION_WEIGHT
+                    + hits.content() * CONTENT_WEIGHT) * 100 / total;
+
+            if (!phrase.isEmpty() && title.contains(phrase)) {
+                score += TITLE_PHRASE_BONUS * 100;
+            }
+            return score;
+        }
+    }
+}
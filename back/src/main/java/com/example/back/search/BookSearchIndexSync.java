@@ -0,0 +1,93 @@
+package com.example.back.search;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.example.back.cache.CatalogChangedEvent;
+import com.example.back.repository.BookRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 서버에서 등록/수정된 도서를 검색 색인에 반영 (따라잡기)
+ *
+ * <동작 개요>
+ * - CatalogVersion 이 다른 서버의 변경을 감지하면(CatalogChangedEvent) 마지막 따라잡기 이후
+ *   created_at / updated_at 이 바뀐 도서를 DB 에서 읽어 색인한다. 새 ETag 는 이 작업이 끝난 뒤에 반영된다.
+ * - 서버 간 시계 차이 / 커밋 지연으로 누락되지 않도록 기준 시각을 OVERLAP 만큼 겹쳐서 조회한다.
+ *   (이미 반영된 도서를 다시 색인해도 결과는 같고, 더 새 version 이 색인돼 있으면 건너뜀)
+ * - 삭제는 여기서 다루지 않는다. (검색 결과를 DB 에서 조회할 때 없는 도서를 BookService 가 색인에서 제거)
+ */
+@Slf4j
+@Component
+public class BookSearchIndexSync {
+
+    private static final long OVERLAP_SECONDS = 30;
+    private static final int CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 마지막 따라잡기(또는 기동 시 재구성) 시작 시각, lock 으로 보호
+    private LocalDateTime watermark = LocalDateTime.now();
+
+    public BookSearchIndexSync(BookRepository bookRepository, BookSearchIndex bookSearchIndex) {
+        this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+    }
+
+    // 기동 시 재구성을 시작하기 직전에 호출 (재구성 이후 변경분만 따라잡도록)
+    public void startFrom(LocalDateTime startedAt) {
+        lock.lock();
+        try {
+            watermark = startedAt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        catchUp();
+    }
+
+    // 재구성 전이면 아무것도 하지 않음 (재구성 완료 직후 BookSearchIndexInitializer 가 한 번 호출)
+    public void catchUp() {
+        if (!bookSearchIndex.isReady()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = watermark.minusSeconds(OVERLAP_SECONDS);
+
+            long lastId = 0L;
+            int indexed = 0;
+            while (true) {
+                List<BookSearchDocument> chunk = bookRepository.findSearchDocumentsChangedSince(
+                        since, lastId, PageRequest.of(0, CHUNK_SIZE));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                for (BookSearchDocument doc : chunk) {
+                    if (bookSearchIndex.index(doc)) {
+                        indexed++;
+                    }
+                }
+                lastId = chunk.get(chunk.size() - 1).getBookId();
+            }
+
+            watermark = startedAt;
+            log.info("도서 검색 색인 따라잡기 완료: since={}, 반영={}건", since, indexed);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
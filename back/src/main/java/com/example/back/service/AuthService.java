@@ -8,18 +8,19 @@ import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.example.back.DTO.LoginRequest;
 import com.example.back.DTO.SignupRequest;
 import com.example.back.DTO.UpdateRequest;
-import com.example.back.entity.RefreshToken;
 import com.example.back.entity.User;
+import com.example.back.jwt.AuthPrincipal;
 import com.example.back.jwt.JwtUtil;
-import com.example.back.repository.RefreshTokenRepository;
+import com.example.back.jwt.RefreshTokenStore;
+import com.example.back.jwt.TokenRevocationService;
 import com.example.back.repository.UserRepository;
 
 @Service
@@ -28,9 +29,11 @@ import com.example.back.repository.UserRepository;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
 
     public void signup(SignupRequest req, String apiKey) {
         /**
@@ -59,7 +62,7 @@ public class AuthService {
 
         User user = new User();
         user.setId(req.getId());
-        user.setPw(passwordEncoder.encode(req.getPw()));
+        user.setPw(passwordHashService.encode(req.getPw()));
         user.setName(req.getName());
         // API Key 저장 (null 허용)
         if (apiKey != null && !apiKey.isBlank()) {
@@ -89,7 +92,7 @@ public class AuthService {
          *   2) 비밀번호 일치 여부 확인
          *   3) Access Token 생성
          *   4) Refresh Token 생성 및 만료시간 설정
-         *   5) Refresh Token DB 저장 (insert or update)
+         *   5) Refresh Token 저장 (RefreshTokenStore, 있으면 교체)
          *   6) 최종적으로 두 토큰을 반환(Map)
          *
          * @param req LoginRequest
@@ -116,29 +119,30 @@ public class AuthService {
             });
 
         // 2) 비밀번호 불일치
-        if (!passwordEncoder.matches(req.getPw(), user.getPw())) {
+        if (!passwordHashService.matches(req.getPw(), user.getPw())) {
             log.warn("로그인 실패 - 비밀번호 불일치: id={}", req.getId());
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "비밀번호가 일치하지 않습니다.");
         }
 
+        // 2-1) 설정된 cost 보다 낮게 저장된 해시면 평문을 아는 지금 다시 해시해서 저장 (실패해도 로그인은 진행)
+        if (passwordHashService.needsRehash(user.getPw())) {
+            try {
+                user.setPw(passwordHashService.encode(req.getPw()));
+                userRepository.save(user);
+                log.info("비밀번호 해시 cost 갱신: id={}", req.getId());
+            } catch (Exception e) {
+                log.warn("비밀번호 해시 cost 갱신 실패(다음 로그인 때 재시도): id={}, err={}", req.getId(), e.toString());
+            }
+        }
+
         // 3) 토큰 생성
         String accessToken = jwtUtil.createAccessToken(user.getId());
         String refreshToken = jwtUtil.createRefreshToken(user.getId());
         Long expiry = System.currentTimeMillis() + (14L * 24 * 60 * 60 * 1000);
 
-        // 4) Refresh Token 저장 처리
+        // 4) Refresh Token 저장 처리 (사용자당 1개, 있으면 교체)
         try {
-            RefreshToken savedToken = refreshTokenRepository.findByUserId(user.getId()).orElse(null);
-
-            if (savedToken == null) {
-                savedToken = new RefreshToken(user, refreshToken, expiry);
-                log.info("Refresh Token 신규 생성: userId={}", user.getId());
-            } else {
-                savedToken.updateToken(refreshToken, expiry);
-                log.info("기존 Refresh Token 업데이트: userId={}", user.getId());
-            }
-
-            refreshTokenRepository.save(savedToken);
+            refreshTokenStore.save(user.getId(), refreshToken, expiry);
             log.info("Refresh Token 저장 완료: userId={}", user.getId());
 
         } catch (DataAccessException e) {
@@ -160,36 +164,23 @@ public class AuthService {
     }
     
     @Transactional
-    public void logout(String token) {
+    public void logout(AuthPrincipal principal) {
         /**
          * 로그아웃 서비스 로직
          *
-         * - Access Token에서 userId 추출
          * - 저장된 Refresh Token 삭제
-         * - Access Token은 클라이언트 단에서 제거됨
+         * - 현재 Access Token 폐기 (만료 전이라도 이후 요청은 JwtAuthFilter 에서 401)
          *
-         * @param token 클라이언트 JWT Access Token
+         * @param principal JwtAuthFilter 에서 검증된 사용자
          */
 
-        log.info("로그아웃 처리 시작: token={}", token);
-        String userId;
-
-        if (token == null || token.trim().isEmpty()) {
-            log.warn("로그아웃 실패 - 토큰 없음");
-            throw new RuntimeException("토큰이 제공되지 않았습니다.");
-        }
-
-        try {
-            // 1) 토큰 유효성 검사 + userId 추출
-            userId = jwtUtil.getUserId(token);
-        } catch (Exception e) {
-            log.warn("로그아웃 실패 - 유효하지 않은 토큰: token={}", token);
-            throw new RuntimeException("유효하지 않은 토큰입니다.");
-        }
+        // 1) 토큰 검증/userId 추출은 JwtAuthFilter 에서 완료
+        String userId = principal.userId();
+        log.info("로그아웃 처리 시작: userId={}", userId);
 
         try {
             // 2) DB에 저장된 Refresh Token 삭제
-            refreshTokenRepository.deleteByUserId(userId);
+            refreshTokenStore.delete(userId);
             log.info("저장된 Refresh Token 삭제 완료: userId={}", userId);
 
         } catch (Exception e) {
@@ -197,117 +188,128 @@ public class AuthService {
             throw new RuntimeException("로그아웃 처리 중 오류가 발생했습니다.");
         }
 
+        // 3) 현재 Access Token 폐기 (만료 시각까지 폐기 목록에 유지)
+        tokenRevocationService.revoke(principal);
+
         log.info("로그아웃 처리 완료: userId={}", userId);
     }
     
-    @Transactional
-    public void updateUser(String token, UpdateRequest req, String apiKey) {
+    public void updateUser(AuthPrincipal principal, UpdateRequest req, String apiKey) {
         /**
          * 회원정보 수정 서비스 로직
-         * - token -> userId 추출
-         * - 사용자 조회
+         * - 사용자 조회 (userId 는 JwtAuthFilter 에서 검증된 principal 사용)
          * - 전달된 name, pw, apiKey 중 존재하는 값만 업데이트
+         * - 새 비밀번호 해시는 트랜잭션 시작 전에 계산 (BCrypt 대기 중 DB 커넥션을 잡고 있지 않도록)
          */
 
         log.info("회원정보 수정 처리 시작");
 
-        // 1) JWT에서 userId 추출
-        String userId = jwtUtil.getUserId(token);
+        // 1) 검증된 토큰의 userId
+        String userId = principal.userId();
 
         if (userId == null || userId.isBlank()) {
             throw new IllegalArgumentException("유효하지 않은 토큰입니다.");
         }
 
-        // 2) 사용자 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        // 2) 비밀번호 변경 요청이면 미리 해시 (트랜잭션 밖)
+        String encodedPw = req.getPw() != null && !req.getPw().isBlank()
+                ? passwordHashService.encode(req.getPw())
+                : null;
 
-        // 3-1) 이름 변경 (req 기반)
-        if (req.getName() != null && !req.getName().isBlank()) {
-            user.setName(req.getName());
-            log.info("사용자 이름 변경: {}", req.getName());
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // 3) 사용자 조회
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 3-2) 비밀번호 변경 (req 기반)
-        if (req.getPw() != null && !req.getPw().isBlank()) {
-            String encodedPw = passwordEncoder.encode(req.getPw());
-            user.setPw(encodedPw);
-            log.info("사용자 비밀번호 변경");
-        }
+            // 4-1) 이름 변경 (req 기반)
+            if (req.getName() != null && !req.getName().isBlank()) {
+                user.setName(req.getName());
+                log.info("사용자 이름 변경: {}", req.getName());
+            }
 
-        // 3-3) API Key 변경 
-        log.info("사용자 API Key: {}", apiKey);
-        if (apiKey != null && !apiKey.isBlank()) {
-            user.setApiKey(apiKey);
-            log.info("사용자 API Key 변경: {}", apiKey);
-        }
+            // 4-2) 비밀번호 변경 (미리 계산한 해시)
+            if (encodedPw != null) {
+                user.setPw(encodedPw);
+                log.info("사용자 비밀번호 변경");
+            }
 
-        // 4) 저장
-        userRepository.save(user);
+            // 4-3) API Key 변경
+            log.info("사용자 API Key: {}", apiKey);
+            if (apiKey != null && !apiKey.isBlank()) {
+                user.setApiKey(apiKey);
+                log.info("사용자 API Key 변경: {}", apiKey);
+            }
+
+            // 5) 저장
+            userRepository.save(user);
+        });
 
         log.info("회원정보 수정 완료: userId={}", userId);
     }
 
-    @Transactional
-    public void deleteUser(String token, String pw) {
+    public void deleteUser(AuthPrincipal principal, String pw) {
         /**
          * 회원 탈퇴 서비스 로직
-         * - token → userId 추출
-         * - userId로 사용자 조회
-         * - 비밀번호 검증
-         * - Refresh Token 삭제
-         * - DB에서 사용자 삭제
+         * - principal(JwtAuthFilter 에서 검증된 사용자)의 userId로 사용자 조회
+         * - 비밀번호 검증 (트랜잭션 밖에서 BCrypt 비교 → 대기 중 DB 커넥션을 잡고 있지 않음)
+         * - Refresh Token 삭제 + DB에서 사용자 삭제 (한 트랜잭션, 검증한 해시가 그 사이 바뀌었으면 중단)
          *
-         * @param token JWT Access Token
-         * @param pw    비밀번호 (본인 확인용)
+         * @param principal 검증된 사용자
+         * @param pw        비밀번호 (본인 확인용)
          */
-        log.info("회원 탈퇴 처리 시작: token={}", token);
+        log.info("회원 탈퇴 처리 시작: userId={}", principal.userId());
         if (pw == null || pw.isBlank()) {
             log.warn("회원 탈퇴 실패 - 비밀번호 미입력");
             throw new IllegalArgumentException("비밀번호는 필수 입력값입니다.");
         }
         
-        String userId;
-
-        // 1) 토큰 검증 및 userId 추출
-        try {
-            userId = jwtUtil.getUserId(token);
-            log.info("JWT 검증 성공: userId={}", userId);
-        } catch (Exception e) {
-            log.warn("회원 탈퇴 실패 - 토큰 검증 실패: token={}", token);
-            throw new RuntimeException("사용자 정보를 찾을 수 없습니다.");
-        }
+        // 1) 검증된 토큰의 userId
+        String userId = principal.userId();
 
         // 2) 유저 조회
-        User user = userRepository.findById(userId)
+        User found = userRepository.findById(userId)
             .orElseThrow(() -> {
                 log.warn("회원 탈퇴 실패 - 사용자 조회 실패: userId={}", userId);
                 return new RuntimeException("사용자 정보를 찾을 수 없습니다.");
             });
+        String verifiedPw = found.getPw();
 
-        // 3) 비밀번호 검증
-        if (!passwordEncoder.matches(pw, user.getPw())) {
+        // 3) 비밀번호 검증 (트랜잭션 밖)
+        if (!passwordHashService.matches(pw, verifiedPw)) {
             log.warn("회원 탈퇴 실패 - 비밀번호 불일치: userId={}", userId);
             throw new RuntimeException("사용자 정보를 찾을 수 없습니다.");
         }
 
-        // 4) Refresh Token 삭제 (외래키 문제 예방)
-        try {
-            refreshTokenRepository.deleteByUserId(userId);
-            log.info("Refresh Token 삭제 완료: userId={}", userId);
-        } catch (Exception e) {
-            log.error("회원 탈퇴 실패 - Refresh Token 삭제 중 오류: userId={}, error={}", userId, e.toString());
-            throw new RuntimeException("회원 탈퇴 처리 중 오류가 발생했습니다.");
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // 검증 이후 비밀번호가 바뀌었거나 이미 탈퇴한 경우 중단
+            User user = userRepository.findById(userId)
+                    .filter(u -> verifiedPw.equals(u.getPw()))
+                    .orElseThrow(() -> {
+                        log.warn("회원 탈퇴 실패 - 검증 이후 사용자 정보 변경: userId={}", userId);
+                        return new RuntimeException("사용자 정보를 찾을 수 없습니다.");
+                    });
+
+            // 4) Refresh Token 삭제 (외래키 문제 예방)
+            try {
+                refreshTokenStore.delete(userId);
+                log.info("Refresh Token 삭제 완료: userId={}", userId);
+            } catch (Exception e) {
+                log.error("회원 탈퇴 실패 - Refresh Token 삭제 중 오류: userId={}, error={}", userId, e.toString());
+                throw new RuntimeException("회원 탈퇴 처리 중 오류가 발생했습니다.");
+            }
 
-        // 5) 사용자 삭제
-        try {
-            userRepository.delete(user);
-            log.info("회원 탈퇴 처리 완료: userId={}", userId);
-        } catch (Exception e) {
-            log.error("회원 탈퇴 실패 - User 삭제 중 오류: userId={}, error={}", userId, e.toString());
-            throw new RuntimeException("회원 탈퇴 처리 중 오류가 발생했습니다.");
-        }
+            // 5) 사용자 삭제
+            try {
+                userRepository.delete(user);
+                log.info("회원 탈퇴 처리 완료: userId={}", userId);
+            } catch (Exception e) {
+                log.error("회원 탈퇴 실패 - User 삭제 중 오류: userId={}, error={}", userId, e.toString());
+                throw new RuntimeException("회원 탈퇴 처리 중 오류가 발생했습니다.");
+            }
+
+            // 6) 현재 Access Token 폐기
+            tokenRevocationService.revoke(principal);
+        });
     }
 
     public String validateAccessToken(String token) {
@@ -345,21 +347,21 @@ public class AuthService {
             throw new RuntimeException("사용자 정보를 확인할 수 없습니다. 다시 로그인해주세요.");
         }
 
-        // 3) DB에 저장된 Refresh Token 조회
-        RefreshToken savedToken = refreshTokenRepository.findByUserId(userId)
+        // 3) 저장된 Refresh Token 조회
+        RefreshTokenStore.StoredToken savedToken = refreshTokenStore.find(userId)
                 .orElseThrow(() -> {
                     log.warn("DB에 저장된 Refresh Token 없음: userId={}", userId);
                     return new RuntimeException("저장된 리프레시 토큰이 없습니다. 다시 로그인해야 합니다.");
                 });
 
         // 4) 클라이언트가 보낸 refreshToken과 DB 저장 토큰 비교
-        if (!savedToken.getToken().equals(refreshToken)) {
+        if (!savedToken.token().equals(refreshToken)) {
             log.warn("리프레시 토큰 불일치: userId={}", userId);
             throw new RuntimeException("저장된 리프레시 토큰과 일치하지 않습니다.");
         }
 
         // 5) 만료 여부 확인
-        if (System.currentTimeMillis() > savedToken.getExpiry()) {
+        if (savedToken.isExpired(System.currentTimeMillis())) {
             log.warn("리프레시 토큰 만료됨: userId={}", userId);
             throw new RuntimeException("리프레시 토큰이 만료되었습니다. 다시 로그인해야 합니다.");
         }
@@ -372,14 +374,13 @@ public class AuthService {
     }
 
 
-    public String getUserApiKey(String token) {
+    public String getUserApiKey(AuthPrincipal principal) {
         /**
          * API Key 조회 서비스
-         * - 전달된 JWT Access Token에서 사용자 ID를 추출하고,
-         *   해당 사용자의 등록된 API Key를 반환하는 로직입니다.
+         * - JwtAuthFilter 에서 검증된 사용자의 등록된 API Key를 반환하는 로직입니다.
          *
          * 처리 흐름:
-         *   1) JWT에서 userId 추출
+         *   1) principal 에서 userId 확인
          *   2) userId가 유효하지 않을 경우 예외 발생
          *   3) DB에서 사용자 정보 조회
          *   4) API Key 존재 여부 확인
@@ -392,9 +393,8 @@ public class AuthService {
          */
         log.info("API Key 조회 처리 시작");
 
-        // 1) JWT에서 userId 추출
-        String userId = jwtUtil.getUserId(token);
-        log.info("JWT 토큰 검증 완료: userId={}", userId);
+        // 1) 검증된 토큰의 userId
+        String userId = principal.userId();
 
         if (userId == null || userId.isBlank()) {
             log.warn("API Key 조회 실패 - 잘못된 토큰");
@@ -419,14 +419,13 @@ public class AuthService {
         return user.getApiKey();
     }
 
-    public User getUserInfo(String accessToken) {
+    public User getUserInfo(AuthPrincipal principal) {
         /**
          * 사용자 정보 조회 서비스
-         * - 전달된 JWT Access Token에서 사용자 ID를 추출하고,
-         *   해당 사용자의 전체 정보를 조회하여 반환합니다.
+         * - JwtAuthFilter 에서 검증된 사용자의 전체 정보를 조회하여 반환합니다.
          *
          * 처리 흐름:
-         *   1) JWT에서 userId 추출
+         *   1) principal 에서 userId 확인
          *   2) userId가 유효하지 않을 경우 예외 발생
          *   3) DB에서 사용자 정보 조회
          *   4) 존재하지 않을 경우 예외 발생
@@ -439,15 +438,8 @@ public class AuthService {
 
         log.info("사용자 정보 조회 처리 시작");
 
-        // 1) JWT에서 userId 추출
-        String userId;
-        try {
-            userId = jwtUtil.getUserId(accessToken);
-            log.info("JWT 토큰 검증 완료: userId={}", userId);
-        } catch (Exception e) {
-            log.warn("사용자 정보 조회 실패 - 유효하지 않은 토큰");
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
-        }
+        // 1) 검증된 토큰의 userId
+        String userId = principal.userId();
 
         // 2) userId가 비정상적인 경우
         if (userId == null || userId.isBlank()) {
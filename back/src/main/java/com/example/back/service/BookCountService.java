@@ -0,0 +1,210 @@
+package com.example.back.service;
+
+import com.example.back.cache.CatalogVersion;
+import com.example.back.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도서 건수 관리 서비스
+ *
+ * <동작 개요>
+ * - 전체 도서 수 / 카테고리별 도서 수를 메모리에 유지하여 목록 API 가 매 요청 COUNT(*) 를 실행하지 않도록 한다.
+ * - 등록/삭제(및 카테고리 변경) 커밋 이후 BookService 가 증감시키고,
+ *   기동 시와 주기적으로(app.books.count-resync-ms) DB 에서 다시 맞춘다. (다중 노드/직접 DB 수정 대비)
+ * - 재동기화는 카테고리별 COUNT 한 번으로 전체 수까지 구하고(두 값이 같은 시점 기준),
+ *   조회하는 동안 들어온 증감은 따로 모아 두었다가 DB 값에 더해서 반영한다. (덮어써서 잃지 않도록)
+ * - DB LIKE 검색 결과 건수는 짧은 TTL 캐시에 보관한다.
+ */
+@Slf4j
+@Service
+public class BookCountService {
+
+    private final BookRepository bookRepository;
+    private final CatalogVersion catalogVersion;
+
+    // -1 이면 아직 DB 와 동기화 전 → 호출 측에서 COUNT 쿼리로 처리
+    private final AtomicLong total = new AtomicLong(-1);
+    private final Map<Long, AtomicLong> categoryTotals = new ConcurrentHashMap<>();
+
+    // 재동기화 조회 중에 들어온 증감 (재동기화 중이 아니면 null), lock 으로 보호
+    // (조회 직전에 커밋되고 콜백만 늦게 온 증감은 두 번 반영될 수 있으나 다음 재동기화에서 바로잡힘)
+    private final Object lock = new Object();
+    private Map<Long, Long> pendingCategoryDeltas;
+    private long pendingTotalDelta;
+
+    private final Cache<String, Long> searchCounts;
+
+    public BookCountService(
+            BookRepository bookRepository,
+            CatalogVersion catalogVersion,
+            @Value("${app.books.search-count-ttl-ms:30000}") long searchCountTtlMs,
+            @Value("${app.books.search-count-max-entries:1000}") long searchCountMaxEntries
+    ) {
+        this.bookRepository = bookRepository;
+        this.catalogVersion = catalogVersion;
+        this.searchCounts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(searchCountTtlMs))
+                .maximumSize(searchCountMaxEntries)
+                .build();
+    }
+
+    // DB 기준으로 전체/카테고리별 건수 재동기화
+    @Scheduled(
+            initialDelayString = "${app.books.count-resync-ms:300000}",
+            fixedDelayString = "${app.books.count-resync-ms:300000}"
+    )
+    public void resync() {
+        synchronized (lock) {
+            if (pendingCategoryDeltas != null) {
+                return; // 이미 재동기화 중
+            }
+            pendingCategoryDeltas = new HashMap<>();
+            pendingTotalDelta = 0;
+        }
+
+        Map<Long, Long> dbCategoryTotals = new HashMap<>();
+        long dbTotal = 0;
+        try {
+            // category_id 는 NOT NULL 이므로 카테고리별 합계 = 전체 수
+            for (Object[] row : bookRepository.countGroupByCategory()) {
+                long count = (Long) row[1];
+                dbCategoryTotals.put((Long) row[0], count);
+                dbTotal += count;
+            }
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendingCategoryDeltas = null;
+            }
+            throw e;
+        }
+
+        long previousTotal;
+        long syncedTotal;
+        synchronized (lock) {
+            // 조회 이후 커밋된 증감을 DB 값에 더해서 반영
+            syncedTotal = dbTotal + pendingTotalDelta;
+            pendingCategoryDeltas.forEach((categoryId, delta) -> dbCategoryTotals.merge(categoryId, delta, Long::sum));
+            pendingCategoryDeltas = null;
+
+            categoryTotals.keySet().retainAll(dbCategoryTotals.keySet());
+            dbCategoryTotals.forEach((categoryId, count) ->
+                    categoryTotals.computeIfAbsent(categoryId, id -> new AtomicLong()).set(count));
+            previousTotal = total.getAndSet(syncedTotal);
+        }
+
+        // 다른 노드/직접 DB 수정으로 건수가 달라졌다면 목록 ETag 도 갱신
+        if (previousTotal >= 0 && previousTotal != syncedTotal) {
+            catalogVersion.bump();
+        }
+
+        log.info("도서 건수 동기화 완료: total={}, categories={}", syncedTotal, dbCategoryTotals.size());
+    }
+
+    public boolean isInitialized() {
+        return total.get() >= 0;
+    }
+
+    // 전체 도서 수 (동기화 전이면 -1)
+    public long getTotal() {
+        return total.get();
+    }
+
+    // 카테고리별 도서 수 스냅샷 (카테고리 facet 응답용)
+    public Map<Long, Long> getCategoryTotals() {
+        Map<Long, Long> snapshot = new HashMap<>();
+        categoryTotals.forEach((categoryId, count) -> snapshot.put(categoryId, count.get()));
+        return snapshot;
+    }
+
+    // 카테고리별 도서 수 (동기화 전이면 -1)
+    public long getCategoryTotal(Long categoryId) {
+        if (!isInitialized()) {
+            return -1;
+        }
+        AtomicLong count = categoryTotals.get(categoryId);
+        return count != null ? count.get() : 0;
+    }
+
+    public void onCreated(Long categoryId) {
+        synchronized (lock) {
+            recordPending(categoryId, 1);
+            if (isInitialized()) {
+                total.incrementAndGet();
+                categoryTotals.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+        searchCounts.invalidateAll();
+    }
+
+    public void onDeleted(Long categoryId) {
+        synchronized (lock) {
+            recordPending(categoryId, -1);
+            if (isInitialized()) {
+                total.decrementAndGet();
+                AtomicLong count = categoryTotals.get(categoryId);
+                if (count != null) {
+                    count.decrementAndGet();
+                }
+            }
+        }
+        searchCounts.invalidateAll();
+    }
+
+    public void onCategoryChanged(Long fromCategoryId, Long toCategoryId) {
+        if (fromCategoryId.equals(toCategoryId)) {
+            return;
+        }
+        searchCounts.invalidateAll();
+        synchronized (lock) {
+            if (pendingCategoryDeltas != null) {
+                pendingCategoryDeltas.merge(fromCategoryId, -1L, Long::sum);
+                pendingCategoryDeltas.merge(toCategoryId, 1L, Long::sum);
+            }
+            if (isInitialized()) {
+                AtomicLong from = categoryTotals.get(fromCategoryId);
+                if (from != null) {
+                    from.decrementAndGet();
+                }
+                categoryTotals.computeIfAbsent(toCategoryId, id -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    // 재동기화 조회 중이면 증감을 모아 둠 (lock 안에서 호출)
+    private void recordPending(Long categoryId, long delta) {
+        if (pendingCategoryDeltas != null) {
+            pendingCategoryDeltas.merge(categoryId, delta, Long::sum);
+            pendingTotalDelta += delta;
+        }
+    }
+
+    // DB LIKE 검색 결과 건수 캐시 (없으면 null)
+    public Long getCachedSearchCount(String title, Long categoryId) {
+        return searchCounts.getIfPresent(searchKey(title, categoryId));
+    }
+
+    public void putSearchCount(String title, Long categoryId, long count) {
+        searchCounts.put(searchKey(title, categoryId), count);
+    }
+
+    // 제목 변경은 검색 결과 건수에 영향을 주므로 수정 시에도 호출
+    public void invalidateSearchCounts() {
+        searchCounts.invalidateAll();
+    }
+
+    private String searchKey(String title, Long categoryId) {
+        return (categoryId != null ? categoryId : "*") + ":" + title.trim().toLowerCase(Locale.ROOT);
+    }
+}
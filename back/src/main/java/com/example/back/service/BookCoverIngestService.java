@@ -0,0 +1,340 @@
+package com.example.back.service;
+
+import com.example.back.DTO.CoverIngestStatusResponse;
+import com.example.back.cache.BookDetailCache;
+import com.example.back.cache.CatalogVersion;
+import com.example.back.entity.CoverIngestJob;
+import com.example.back.repository.BookRepository;
+import com.example.back.repository.CoverIngestJobRepository;
+import com.example.back.storage.CoverStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 도서 표지 비동기 업로드(작업 큐) 서비스
+ *
+ * <동작 개요>
+ * - 도서 등록/수정/일괄 등록 시 표지 URL 은 cover_ingest_jobs 테이블에 작업(PENDING)으로만 저장하고,
+ *   도서 저장 트랜잭션은 외부 HTTP / 표지 저장소를 기다리지 않고 바로 커밋된다.
+ * - poll() 이 주기적으로(및 작업 등록 커밋 직후) 처리할 작업을 조건부 UPDATE 로 선점(RUNNING)한 뒤
+ *   coverIngestExecutor 스레드 풀에 남은 자리만큼만 넘긴다. (DB 커넥션은 선점/결과 반영 순간에만 사용)
+ * - 성공 시 image_url 반영 + 상세 캐시 / 목록 ETag 무효화, 실패 시 지수 backoff 로 재시도하고
+ *   최대 횟수를 넘으면 FAILED 로 남긴다. (도서는 표지 없이 유지)
+ * - 작업이 테이블에 남아 있으므로 서버 재시작 후에도 이어서 처리되며,
+ *   처리 도중 내려가 RUNNING 으로 남은 작업은 일정 시간 후 PENDING 으로 되돌린다.
+ */
+@Slf4j
+@Service
+public class BookCoverIngestService {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+    private static final String STALE_FAILED_MESSAGE = "처리 중 중단됨 (최대 시도 횟수 초과)";
+
+    private final BookCoverStorageService bookCoverStorageService;
+    private final BookRepository bookRepository;
+    private final CoverIngestJobRepository coverIngestJobRepository;
+    private final CoverObjectService coverObjectService;
+    private final StorageOutboxService storageOutboxService;
+    private final CoverStorage coverStorage;
+    private final TransactionTemplate transactionTemplate;
+    private final BookDetailCache bookDetailCache;
+    private final CatalogVersion catalogVersion;
+    private final ThreadPoolTaskExecutor coverIngestExecutor;
+
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long staleAfterMs;
+
+    // poll() 중복 실행 방지 (스케줄러 + 커밋 직후 호출이 겹치는 경우)
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+
+    public BookCoverIngestService(
+            BookCoverStorageService bookCoverStorageService,
+            BookRepository bookRepository,
+            CoverIngestJobRepository coverIngestJobRepository,
+            CoverObjectService coverObjectService,
+            StorageOutboxService storageOutboxService,
+            CoverStorage coverStorage,
+            TransactionTemplate transactionTemplate,
+            BookDetailCache bookDetailCache,
+            CatalogVersion catalogVersion,
+            @Qualifier("coverIngestExecutor") ThreadPoolTaskExecutor coverIngestExecutor,
+            @Value("${app.books.cover-ingest.max-attempts:5}") int maxAttempts,
+            @Value("${app.books.cover-ingest.backoff-base-ms:10000}") long backoffBaseMs,
+            @Value("${app.books.cover-ingest.backoff-max-ms:600000}") long backoffMaxMs,
+            @Value("${app.books.cover-ingest.stale-after-ms:300000}") long staleAfterMs
+    ) {
+        this.bookCoverStorageService = bookCoverStorageService;
+        this.bookRepository = bookRepository;
+        this.coverIngestJobRepository = coverIngestJobRepository;
+        this.coverObjectService = coverObjectService;
+        this.storageOutboxService = storageOutboxService;
+        this.coverStorage = coverStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.bookDetailCache = bookDetailCache;
+        this.catalogVersion = catalogVersion;
+        this.coverIngestExecutor = coverIngestExecutor;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    // 표지 URL 형식 검증 (실제 다운로드는 비동기로 하므로 요청 시점에는 형식만 확인)
+    public void validateSourceUrl(String imageUrl) {
+        try {
+            URI uri = URI.create(imageUrl.trim());
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null
+                    || scheme == null
+                    || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))) {
+                throw new IllegalArgumentException("유효하지 않은 이미지 URL입니다.");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 이미지 URL입니다.");
+        }
+    }
+
+    // 표지 작업 등록 (호출 측 트랜잭션에 함께 저장 → 도서와 작업이 같이 커밋/롤백)
+    public void enqueue(Long bookId, String imageUrl) {
+        // 이전에 요청된 표지가 아직 대기 중이면 취소 (마지막 요청만 반영)
+        coverIngestJobRepository.cancelPendingByBookId(bookId, LocalDateTime.now());
+        coverIngestJobRepository.save(new CoverIngestJob(bookId, imageUrl.trim()));
+        pollAfterCommit();
+    }
+
+    // 새로 등록된 도서들의 표지 작업 일괄 등록 (기존 작업이 없으므로 취소 UPDATE 생략, INSERT 는 배치 전송)
+    public void enqueueNew(List<CoverIngestJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        coverIngestJobRepository.saveAll(jobs);
+        pollAfterCommit();
+    }
+
+    private void pollAfterCommit() {
+        // 다음 주기까지 기다리지 않고 커밋 직후 바로 처리 시작
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        coverIngestExecutor.execute(BookCoverIngestService.this::pollSafely);
+                    } catch (TaskRejectedException e) {
+                        // 스레드 풀이 가득 찬 경우 다음 주기 poll() 에서 처리
+                    }
+                }
+            });
+        }
+    }
+
+    // 도서 삭제 시 대기 중 작업 취소
+    public void cancel(Long bookId) {
+        coverIngestJobRepository.cancelPendingByBookId(bookId, LocalDateTime.now());
+    }
+
+    // 도서의 최근 표지 작업 상태
+    public CoverIngestStatusResponse getStatus(Long bookId) {
+        CoverIngestJob job = coverIngestJobRepository.findTopByBookIdOrderByIdDesc(bookId)
+                .orElseThrow(() -> new IllegalArgumentException("표지 업로드 작업이 없습니다."));
+        return CoverIngestStatusResponse.from(job);
+    }
+
+    // 처리할 차례가 된 작업을 선점해서 스레드 풀에 제출
+    @Scheduled(
+            initialDelayString = "${app.books.cover-ingest.poll-ms:2000}",
+            fixedDelayString = "${app.books.cover-ingest.poll-ms:2000}"
+    )
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            LocalDateTime staleBefore = now.minus(Duration.ofMillis(staleAfterMs));
+            int abandoned = coverIngestJobRepository.failStale(staleBefore, maxAttempts, STALE_FAILED_MESSAGE, now);
+            if (abandoned > 0) {
+                log.warn("처리 중 중단된 표지 작업 최종 실패 (최대 시도 횟수 도달): {}건", abandoned);
+            }
+            int recovered = coverIngestJobRepository.requeueStale(staleBefore, now);
+            if (recovered > 0) {
+                log.warn("처리 중 중단된 표지 작업 복구: {}건", recovered);
+            }
+
+            // 워커 수의 2배까지만 선점 (선점해 놓고 대기열에서 오래 묵혀 stale 복구 대상이 되지 않도록)
+            int inFlight = coverIngestExecutor.getActiveCount()
+                    + coverIngestExecutor.getThreadPoolExecutor().getQueue().size();
+            int capacity = Math.min(
+                    coverIngestExecutor.getMaxPoolSize() * 2 - inFlight,
+                    coverIngestExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<Long> dueIds = coverIngestJobRepository.findDueJobIds(now, PageRequest.of(0, capacity));
+            List<Long> claimed = new ArrayList<>(dueIds.size());
+            for (Long jobId : dueIds) {
+                if (coverIngestJobRepository.claim(jobId, now) == 1) {
+                    claimed.add(jobId);
+                }
+            }
+
+            for (Long jobId : claimed) {
+                try {
+                    coverIngestExecutor.execute(() -> process(jobId));
+                } catch (TaskRejectedException e) {
+                    coverIngestJobRepository.release(jobId, LocalDateTime.now());
+                }
+            }
+
+            if (!claimed.isEmpty()) {
+                log.info("표지 작업 제출: {}건", claimed.size());
+            }
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.error("표지 작업 조회 중 오류: {}", e.toString());
+        }
+    }
+
+    // 작업 1건 처리 (워커 스레드)
+    private void process(Long jobId) {
+        CoverIngestJob job = coverIngestJobRepository.findById(jobId).orElse(null);
+        // attempts 는 선점(claim) 때 이미 올라가 있음
+        if (job == null || job.getStatus() != CoverIngestJob.Status.RUNNING) {
+            return;
+        }
+
+        BookCoverStorageService.StoredCover stored = null;
+        boolean applied = false;
+        try {
+            stored = bookCoverStorageService.saveCoverFromUrl(job.getSourceUrl(), job.getBookId());
+            if (stored == null) {
+                fail(job, "이미지 다운로드 또는 표지 저장 실패");
+                return;
+            }
+
+            // 처리 도중 같은 도서에 새 표지 요청이 들어왔다면 이전 결과는 반영하지 않음
+            boolean superseded = coverIngestJobRepository.findTopByBookIdOrderByIdDesc(job.getBookId())
+                    .map(latest -> !latest.getId().equals(job.getId()))
+                    .orElse(false);
+            if (superseded) {
+                coverObjectService.release(stored.hash());
+                finish(job, CoverIngestJob.Status.CANCELLED, null, "새 표지 요청으로 대체됨");
+                return;
+            }
+
+            // 표지 반영 + 이전 표지 정리를 한 트랜잭션으로 (반영만 되고 이전 표지 해제/삭제 예약이 빠지지 않도록)
+            BookCoverStorageService.StoredCover newCover = stored;
+            boolean updated = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                BookRepository.CoverRef previous = bookRepository.findCoverRefById(job.getBookId()).orElse(null);
+                if (previous == null || bookRepository.updateCoverUrls(job.getBookId(), newCover.originalUrl(),
+                        newCover.detailUrl(), newCover.thumbnailUrl(), newCover.hash()) == 0) {
+                    return false;
+                }
+                releasePrevious(previous, newCover);
+                return true;
+            }));
+            if (!updated) {
+                // 처리 중 도서가 삭제된 경우
+                coverObjectService.release(stored.hash());
+                finish(job, CoverIngestJob.Status.CANCELLED, null, "도서가 삭제됨");
+                return;
+            }
+
+            applied = true;
+
+            bookDetailCache.invalidate(job.getBookId());
+            catalogVersion.bump();
+
+            finish(job, CoverIngestJob.Status.DONE, stored.originalUrl(), null);
+            log.info("표지 업로드 완료: jobId={}, bookId={}, attempts={}", jobId, job.getBookId(), job.getAttempts());
+        } catch (Exception e) {
+            // 도서에 반영하기 전에 실패했다면 이번 시도에서 잡은 참조 반환 (재시도 시 다시 잡음)
+            if (stored != null && !applied) {
+                coverObjectService.release(stored.hash());
+            }
+            fail(job, e.toString());
+        }
+    }
+
+    /**
+     * 이전 표지 정리 (표지 반영과 같은 트랜잭션에서 호출)
+     * - 내용 주소 표지: 참조 해제 (같은 이미지를 다시 올린 경우에도 새로 잡은 참조 1개가 상쇄됨)
+     * - coverHash 가 없는 이전 방식 표지: 원본 + 상세/썸네일 객체 삭제를 outbox 에 예약 (BookService.deleteBook 과 동일)
+     */
+    private void releasePrevious(BookRepository.CoverRef previous, BookCoverStorageService.StoredCover stored) {
+        if (previous.getCoverHash() != null) {
+            coverObjectService.release(previous.getCoverHash());
+            return;
+        }
+
+        Set<String> newKeys = Stream.of(stored.originalUrl(), stored.detailUrl(), stored.thumbnailUrl())
+                .map(coverStorage::keyOf)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toSet());
+        List<String> legacyKeys = Stream.of(previous.getImageUrl(), previous.getDetailImageUrl(), previous.getThumbnailUrl())
+                .map(coverStorage::keyOf)
+                .flatMap(Optional::stream)
+                .filter(key -> !newKeys.contains(key))
+                .toList();
+        storageOutboxService.enqueueDeletes(legacyKeys);
+    }
+
+    // 실패 처리: 재시도 가능하면 backoff 후 PENDING, 아니면 FAILED
+    private void fail(CoverIngestJob job, String error) {
+        if (job.getAttempts() >= maxAttempts) {
+            finish(job, CoverIngestJob.Status.FAILED, null, error);
+            log.warn("표지 업로드 최종 실패: jobId={}, bookId={}, attempts={}, err={}",
+                    job.getId(), job.getBookId(), job.getAttempts(), error);
+            return;
+        }
+
+        long delayMs = Math.min(backoffMaxMs, backoffBaseMs << Math.min(job.getAttempts() - 1, 20));
+        job.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+        finish(job, CoverIngestJob.Status.PENDING, null, error);
+        log.warn("표지 업로드 실패 → 재시도 예약: jobId={}, bookId={}, attempts={}, retryInMs={}, err={}",
+                job.getId(), job.getBookId(), job.getAttempts(), delayMs, error);
+    }
+
+    // 결과 기록 (조건부 UPDATE, 그 사이 stale 복구되어 다른 워커가 다시 가져간 작업이면 반영하지 않음)
+    private void finish(CoverIngestJob job, CoverIngestJob.Status status, String resultUrl, String error) {
+        String lastError = error != null && error.length() > LAST_ERROR_MAX_LENGTH
+                ? error.substring(0, LAST_ERROR_MAX_LENGTH)
+                : error;
+        int updated = coverIngestJobRepository.finishClaimed(job.getId(), job.getAttempts(), status, resultUrl,
+                lastError, job.getNextAttemptAt(), LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("표지 작업 결과 미반영 (처리 중 다른 워커로 넘어감): jobId={}, attempts={}, status={}",
+                    job.getId(), job.getAttempts(), status);
+        }
+    }
+}
@@ -1,127 +1,281 @@
 package com.example.back.service;
 
+import com.example.back.entity.CoverObject;
+import com.example.back.storage.CoverStorage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
 public class BookCoverStorageService {
 
-    private final S3Client s3Client;
+    // 매직 바이트 판별에 필요한 최대 길이 (WEBP: RIFF????WEBP)
+    private static final int SNIFF_LENGTH = 12;
 
-    @Value("${app.s3.bucket}")
-    private String bucket;
+    // 원본 → 임시 파일 복사 버퍼
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // key 가 내용 hash 라 내용이 절대 바뀌지 않으므로 1년 + immutable
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final CoverStorage coverStorage;
+    private final CoverImageResizer coverImageResizer;
+    private final CoverObjectService coverObjectService;
+    private final CoverImageFetcher coverImageFetcher;
 
     @Value("${app.s3.prefix:bookcovers/}")
     private String prefix;
 
-    @Value("${app.s3.region:ap-southeast-1}")
-    private String region;
+    // PUBLIC_URL: 저장소 URL 반환 / PROXY: 앱의 표지 API(/api/books/cover/{bookId}) URL 반환
+    // (로컬 디스크 저장소는 저장소 URL 이 없으므로 항상 표지 API URL)
+    @Value("${app.s3.return-mode:PUBLIC_URL}")
+    private String returnMode;
+
+    @Value("${app.s3.proxy.base-url:${app.base-url:}}")
+    private String proxyBaseUrl;
 
-    public BookCoverStorageService(S3Client s3Client) {
-        this.s3Client = s3Client;
+    // 표지 원본 최대 크기 (초과 시 업로드 중단)
+    @Value("${app.s3.cover-max-bytes:10485760}")
+    private long maxBytes;
+
+    /**
+     * 업로드 결과 URL
+     *  - hash         : 원본 SHA-256 (cover_objects 참조 키, 호출 측이 참조 1개를 보유한 상태로 반환됨)
+     *  - originalUrl  : 원본
+     *  - detailUrl    : 상세 화면용 (변형 생성 실패/미지원 형식이면 null)
+     *  - thumbnailUrl : 목록 썸네일용 (변형 생성 실패/미지원 형식이면 null)
+     */
+    public record StoredCover(String hash, String originalUrl, String detailUrl, String thumbnailUrl) {}
+
+    public BookCoverStorageService(CoverStorage coverStorage,
+                                   CoverImageResizer coverImageResizer,
+                                   CoverObjectService coverObjectService,
+                                   CoverImageFetcher coverImageFetcher) {
+        this.coverStorage = coverStorage;
+        this.coverImageResizer = coverImageResizer;
+        this.coverObjectService = coverObjectService;
+        this.coverImageFetcher = coverImageFetcher;
     }
 
     /**
-     * imageUrl(원본 이미지 URL)을 받아서 S3에 업로드하고
-     * 업로드된 S3 URL을 반환한다.
+     * imageUrl(원본 이미지 URL)을 받아서 표지 저장소(S3 / 로컬 디스크)에 저장하고
+     * 표지 URL을 반환한다.
+     *
+     * - 원본은 CoverImageFetcher 의 공용 HTTP 클라이언트로 받는다. (같은 호스트는 연결 재사용, 호스트별 동시 요청 제한)
+     * - 원본 응답을 통째로 메모리에 모으지 않고 임시 파일로 흘려받은 뒤 저장소에 올린다.
+     *   (S3 는 S3AsyncClient 로 전송, part 크기를 넘으면 SDK 가 multipart 업로드로 나눠 보냄)
+     * - 원본 업로드가 진행되는 동안 변형 이미지를 만들고, 변형 2개도 동시에 올린 뒤 모두 끝날 때까지 기다린다.
+     * - 받는 동안 SHA-256 을 계산해 저장소 key 로 사용하고({hash}.{ext}), 이미 저장된 이미지면 업로드를 생략한다.
+     * - 같은 임시 파일을 한 번 디코딩해 목록 썸네일({hash}_thumb.jpg)과 상세 이미지({hash}_detail.jpg)를 만든다.
+     * - Content-Type 헤더 대신 본문 앞부분의 매직 바이트로 이미지 형식(jpg/png/gif/webp)을 판별한다.
+     * - Content-Length 또는 실제 읽은 크기가 app.s3.cover-max-bytes 를 넘으면 중단한다.
      */
-    public String saveCoverFromUrl(String imageUrl, Long bookId) {
+    public StoredCover saveCoverFromUrl(String imageUrl, Long bookId) {
         if (imageUrl == null || imageUrl.isBlank()) {
             log.warn("imageUrl이 비어있음 → 업로드 스킵: bookId={}", bookId);
             return null;
         }
 
-        HttpURLConnection conn = null;
+        CoverImageFetcher.Fetched response = null;
+        Path tempFile = null;
         try {
-            URL url = new URL(imageUrl);
-            conn = (HttpURLConnection) url.openConnection();
-
-            conn.setRequestMethod("GET");
-
-            //  리다이렉트(302 등) 허용
-            conn.setInstanceFollowRedirects(true);
+            response = coverImageFetcher.open(imageUrl);
 
-            //  타임아웃 조금 여유 있게
-            conn.setConnectTimeout(7000);
-            conn.setReadTimeout(15000);
+            int status = response.status();
+            long contentLength = response.contentLength();
 
-            //  봇 차단(403) 회피용 헤더
-            conn.setRequestProperty("User-Agent",
-                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
-                            "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            conn.setRequestProperty("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8");
-            conn.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-            conn.setRequestProperty("Connection", "close");
+            log.info("이미지 URL 응답: status={}, protocol={}, contentType={}, contentLength={}, url={}",
+                    status, response.protocol(), response.contentType(), contentLength, imageUrl);
 
-            int status = conn.getResponseCode();
-            String contentType = conn.getContentType();
-
-            log.info("이미지 URL 응답: status={}, contentType={}, url={}", status, contentType, imageUrl);
-
-            //  200~399 허용 (리다이렉트 포함)
-            if (status < 200 || status >= 400) {
+            //  리다이렉트는 클라이언트가 따라가므로 최종 응답은 2xx 만 허용
+            if (status < 200 || status >= 300) {
                 log.warn("유효하지 않은 상태코드로 저장 중단: status={}, url={}", status, imageUrl);
                 return null;
             }
 
-            //  차단 페이지(HTML) 내려오는 경우 방지
-            if (contentType == null || !contentType.toLowerCase().startsWith("image/")) {
-                log.warn("이미지 콘텐츠가 아님(차단/HTML 가능성): contentType={}, url={}", contentType, imageUrl);
+            //  선언된 크기가 이미 상한을 넘으면 본문을 읽지 않고 중단
+            if (contentLength > maxBytes) {
+                log.warn("이미지 크기 상한 초과: contentLength={}, max={}, url={}", contentLength, maxBytes, imageUrl);
                 return null;
             }
 
-            byte[] bytes;
-            try (InputStream in = conn.getInputStream();
-                 ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-                in.transferTo(bos);
-                bytes = bos.toByteArray();
+            tempFile = Files.createTempFile("cover-" + bookId + "-", ".img");
+
+            // 1) 원본을 임시 파일로 스트리밍 (앞부분 매직 바이트로 형식 판별, 크기 상한 검사)
+            String contentType;
+            long size;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = response.body();
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int filled = readFully(in, buffer);
+
+                //  매직 바이트로 실제 이미지 형식 판별 (차단 페이지(HTML) 등 방지)
+                contentType = sniffContentType(buffer, filled);
+                if (contentType == null) {
+                    log.warn("이미지 콘텐츠가 아님(매직 바이트 불일치): url={}", imageUrl);
+                    return null;
+                }
+
+                size = 0;
+                while (filled > 0) {
+                    size += filled;
+                    if (size > maxBytes) {
+                        log.warn("이미지 크기 상한 초과: bytes>{}, max={}, url={}", size, maxBytes, imageUrl);
+                        return null;
+                    }
+                    digest.update(buffer, 0, filled);
+                    out.write(buffer, 0, filled);
+                    filled = in.read(buffer);
+                }
             }
+            String hash = HexFormat.of().formatHex(digest.digest());
 
-            //  content-type 기반 확장자 결정
-            String ext = guessExt(contentType);
+            // 2) 같은 이미지가 이미 저장돼 있으면 업로드/리사이즈 생략 (참조 수만 증가)
+            Optional<CoverObject> existing = coverObjectService.acquire(hash);
+            if (existing.isPresent()) {
+                log.info("동일 표지 재사용(업로드 생략): bookId={}, hash={}", bookId, hash);
+                return toStoredCover(existing.get(), bookId);
+            }
 
-            // S3 저장 key (폴더처럼 보이게 prefix 사용)
-            String key = prefix + bookId + "." + ext;
+            // 3) 원본 업로드 시작 (key 는 내용 hash → 같은 key 의 내용이 바뀌지 않으므로 영구 캐시 가능)
+            String key = prefix + hash + "." + extOf(contentType);
+            CompletableFuture<Void> originalUpload =
+                    coverStorage.put(key, tempFile, contentType, IMMUTABLE_CACHE_CONTROL);
 
-            PutObjectRequest putReq = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(contentType) //  실제 content-type 저장
-                    .build();
+            // 4) 원본이 올라가는 동안 썸네일 / 상세 변형 생성 + 업로드 (실패해도 원본은 유지)
+            String detailKey = null;
+            String thumbnailKey = null;
+            try {
+                CoverImageResizer.Variants variants = coverImageResizer.createVariants(tempFile);
+                if (variants != null) {
+                    String detail = prefix + hash + "_detail.jpg";
+                    String thumbnail = prefix + hash + "_thumb.jpg";
+                    CompletableFuture.allOf(
+                            coverStorage.put(detail, variants.detail(), "image/jpeg", IMMUTABLE_CACHE_CONTROL),
+                            coverStorage.put(thumbnail, variants.thumbnail(), "image/jpeg", IMMUTABLE_CACHE_CONTROL)
+                    ).join();
+                    detailKey = detail;
+                    thumbnailKey = thumbnail;
+                } else {
+                    log.info("변형 생성 불가 형식 → 원본만 사용: contentType={}, bookId={}", contentType, bookId);
+                }
+            } catch (Exception e) {
+                log.warn("표지 변형 생성 실패 → 원본만 사용: bookId={}, err={}", bookId, e.toString());
+            } finally {
+                // 원본 업로드가 끝나기 전에 임시 파일을 지우지 않도록 여기서 완료를 기다림 (실패 시 아래 catch 로)
+                originalUpload.join();
+            }
+            log.info("표지 저장 완료: key={}, bytes={}", key, size);
 
-            s3Client.putObject(putReq, RequestBody.fromBytes(bytes));
-            log.info("S3 업로드 완료: s3://{}/{}", bucket, key);
+            // 5) 객체 등록 (참조 수 1)
+            CoverObject object = new CoverObject(hash, key, detailKey, thumbnailKey, contentType, size);
+            coverObjectService.register(object);
 
-            // S3 URL 반환(버킷이 public 읽기 가능해야 브라우저에서 직접 열림)
-            String publicUrl = "https://" + bucket + ".s3." + region + ".amazonaws.com/" + key;
-            log.info("S3 public URL: {}", publicUrl);
+            StoredCover stored = toStoredCover(object, bookId);
+            log.info("표지 URL: {}, detail={}, thumbnail={}",
+                    stored.originalUrl(), stored.detailUrl(), stored.thumbnailUrl());
 
-            return publicUrl;
+            return stored;
 
         } catch (Exception e) {
-            log.error("S3 업로드 실패: bookId={}, url={}, err={}", bookId, imageUrl, e.toString());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("표지 저장 실패: bookId={}, url={}, err={}", bookId, imageUrl, e.toString());
             return null;
         } finally {
-            if (conn != null) conn.disconnect();
+            if (response != null) response.close();
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private StoredCover toStoredCover(CoverObject object, Long bookId) {
+        if (CoverProxyService.MODE_PROXY.equalsIgnoreCase(returnMode)
+                || coverStorage.url(object.getOriginalKey()).isEmpty()) {
+            // v(hash 앞부분)가 URL 에 들어가므로 표지가 바뀌면 URL 도 바뀜 → 브라우저 캐시 무효화 불필요
+            String base = proxyBaseUrl + "/api/books/cover/" + bookId + "?v=" + object.getHash().substring(0, 16);
+            return new StoredCover(
+                    object.getHash(),
+                    base,
+                    object.getDetailKey() != null ? base + "&variant=detail" : null,
+                    object.getThumbnailKey() != null ? base + "&variant=thumb" : null
+            );
+        }
+        return new StoredCover(
+                object.getHash(),
+                coverStorage.url(object.getOriginalKey()).orElse(null),
+                object.getDetailKey() != null ? coverStorage.url(object.getDetailKey()).orElse(null) : null,
+                object.getThumbnailKey() != null ? coverStorage.url(object.getThumbnailKey()).orElse(null) : null
+        );
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file);
+        }
+    }
+
+    // buffer 가 가득 차거나 스트림이 끝날 때까지 읽고, 읽은 바이트 수 반환
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int n = in.read(buffer, total, buffer.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    // 매직 바이트 → Content-Type (지원하지 않는 형식이면 null)
+    static String sniffContentType(byte[] head, int length) {
+        if (length >= 3
+                && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8
+                && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G'
+                && head[4] == 0x0D && head[5] == 0x0A && head[6] == 0x1A && head[7] == 0x0A) {
+            return "image/png";
+        }
+        if (length >= 6
+                && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8'
+                && (head[4] == '7' || head[4] == '9') && head[5] == 'a') {
+            return "image/gif";
+        }
+        if (length >= SNIFF_LENGTH
+                && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
         }
+        return null;
     }
 
-    private String guessExt(String contentType) {
-        String ct = contentType.toLowerCase();
-        if (ct.contains("png")) return "png";
-        if (ct.contains("jpeg") || ct.contains("jpg")) return "jpg";
-        if (ct.contains("webp")) return "webp";
-        if (ct.contains("gif")) return "gif";
-        return "png";
+    private static String extOf(String contentType) {
+        return switch (contentType) {
+            case "image/jpeg" -> "jpg";
+            case "image/gif" -> "gif";
+            case "image/webp" -> "webp";
+            default -> "png";
+        };
     }
 }
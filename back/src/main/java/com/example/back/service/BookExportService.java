@@ -0,0 +1,63 @@
+package com.example.back.service;
+
+import com.example.back.DTO.BookExportRow;
+import com.example.back.repository.BookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(Long categoryId, String userId, OutputStream out) throws IOException {
+        /**
+         * 도서 전체 내보내기 서비스 (NDJSON)
+         *
+         * <동작 개요>
+         * - 조건(categoryId / userId, 둘 다 선택)에 맞는 도서를 book_id 오름차순으로 한 줄에 한 건씩 JSON 으로 쓴다.
+         * - DB 결과는 forward-only 스트림(MySQL 행 단위 스트리밍)으로 읽고, 읽은 행은 바로 출력 후 버리므로
+         *   테이블 크기와 무관하게 메모리 사용량이 일정하다.
+         * - 스트림은 트랜잭션 안에서만 유효하므로 이 메서드 안에서 끝까지 쓰고 닫는다.
+         *
+         * @param categoryId 카테고리 필터 (null 이면 전체)
+         * @param userId     작성자 필터 (null 이면 전체)
+         * @param out        응답 출력 스트림
+         * @return 출력한 도서 건수
+         */
+        long startedAt = System.currentTimeMillis();
+        long count = 0;
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+
+        try (Stream<BookExportRow> rows = bookRepository.streamExportRows(categoryId, userId)) {
+            Iterator<BookExportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                buffered.write(objectMapper.writeValueAsBytes(it.next()));
+                buffered.write('\n');
+                count++;
+            }
+        }
+
+        buffered.flush();
+
+        log.info("도서 내보내기 완료: categoryId={}, userId={}, count={}, {}ms",
+                categoryId, userId, count, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+}
@@ -1,22 +1,40 @@
 package com.example.back.service;
 
 import com.example.back.DTO.*;
+import com.example.back.cache.BookDetailCache;
+import com.example.back.cache.CatalogVersion;
+import com.example.back.cache.CategoryRegistry;
 import com.example.back.entity.Book;
 import com.example.back.entity.Category;
+import com.example.back.entity.CoverIngestJob;
 import com.example.back.entity.User;
 import com.example.back.repository.BookRepository;
 import com.example.back.repository.CategoryRepository;
 import com.example.back.repository.UserRepository;
+import com.example.back.search.BookSearchDocument;
+import com.example.back.search.BookSearchIndex;
+import com.example.back.storage.CoverStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -26,36 +44,180 @@ public class BookService {
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
-    private final BookCoverStorageService bookCoverStorageService;
-    private final S3Client s3Client;
-
-    public BookListResponse getBooks(int page, int size) {
+    private final CategoryRegistry categoryRegistry;
+    private final BookCoverIngestService bookCoverIngestService;
+    private final CoverObjectService coverObjectService;
+    private final CoverStorage coverStorage;
+    private final StorageOutboxService storageOutboxService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCountService bookCountService;
+    private final BookDetailCache bookDetailCache;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_CREATE_SIZE = 500;
+
+    // 도서 수정 시 낙관적 락 충돌(표지 작업과 동시 수정) 재시도 횟수
+    private static final int UPDATE_MAX_ATTEMPTS = 3;
+
+    public BookListResponse getBooks(Long categoryId, int page, int size, boolean estimate) {
+        /**
+         * 도서 목록 조회 (페이지 방식)
+         * - 현재 페이지 행만 조회하고, 전체 건수는 BookCountService 의 메모리 카운터를 사용 (COUNT 쿼리 없음)
+         * - categoryId 가 있으면 해당 카테고리만 조회하고 건수도 카테고리별 카운터 사용
+         * - 카운터 동기화 전이면 estimate=true 일 때 추정치, 아니면 COUNT 쿼리로 처리
+         */
         Sort sort = Sort.by(Sort.Direction.DESC, "id");
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Book> result = bookRepository.findAll(pageable);
-        return BookListResponse.from(result);
+
+        List<BookSummary> rows = categoryId == null
+                ? bookRepository.findSummaryRows(pageable)
+                : bookRepository.findSummaryRowsByCategory(categoryId, pageable);
+
+        if (bookCountService.isInitialized()) {
+            long total = categoryId == null
+                    ? bookCountService.getTotal()
+                    : bookCountService.getCategoryTotal(categoryId);
+            return BookListResponse.of(page, size, total, rows);
+        }
+        if (estimate) {
+            return BookListResponse.estimated(page, size, rows);
+        }
+
+        long total = categoryId == null
+                ? bookRepository.count()
+                : bookRepository.countByCategory(categoryId);
+        return BookListResponse.of(page, size, total, rows);
     }
 
-    public BookListResponse searchBooksByTitle(String title, int page, int size) {
-        log.info("도서 제목 검색 서비스 시작: title={}, page={}, size={}", title, page, size);
+    public BookListResponse searchBooksByTitle(String title, Long categoryId, int page, int size, boolean estimate) {
+        log.info("도서 제목 검색 서비스 시작: title={}, categoryId={}, page={}, size={}", title, categoryId, page, size);
 
         if (title == null || title.isBlank()) {
             log.warn("도서 제목 검색 실패 - 잘못된 검색어: title 비어 있음");
             throw new IllegalArgumentException("검색어(title)가 올바르지 않습니다.");
         }
 
+        // 검색 색인이 준비된 경우: 색인에서 점수순 bookId 만 구한 뒤 해당 페이지 행만 조회
+        if (bookSearchIndex.isReady()) {
+            if (page < 0 || size < 1) {
+                throw new IllegalArgumentException("페이지 정보가 올바르지 않습니다.");
+            }
+
+            BookSearchIndex.Hits hits = bookSearchIndex.search(title.trim(), categoryId, page * size, size);
+            List<BookSummary> rows = findSummariesInOrder(hits.bookIds());
+
+            log.info("도서 제목 검색 서비스 완료(색인): title={}, totalElements={}", title, hits.total());
+            return BookListResponse.of(page, size, hits.total(), rows);
+        }
+
+        // 색인 재구성 전(기동 직후)에는 DB LIKE 검색으로 처리
         Sort sort = Sort.by(Sort.Direction.DESC, "id");
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Book> result = bookRepository.findByTitleContainingIgnoreCase(title.trim(), pageable);
+        List<BookSummary> rows = bookRepository.searchSummaryRowsByText(title.trim(), categoryId, pageable);
+
+        // 건수: 짧은 TTL 캐시 → (estimate 요청 시) 추정치 → COUNT 쿼리 순
+        Long cachedCount = bookCountService.getCachedSearchCount(title, categoryId);
+        if (cachedCount != null) {
+            return BookListResponse.of(page, size, cachedCount, rows);
+        }
+        if (estimate) {
+            log.info("도서 제목 검색 서비스 완료(추정 건수): title={}", title);
+            return BookListResponse.estimated(page, size, rows);
+        }
+
+        long count = bookRepository.countByTextLike(title.trim(), categoryId);
+        bookCountService.putSearchCount(title, categoryId, count);
+
+        log.info("도서 제목 검색 서비스 완료: title={}, totalElements={}", title, count);
+        return BookListResponse.of(page, size, count, rows);
+    }
+
+    public BookCursorResponse getBooksByCursor(Long categoryId, String after, int size) {
+        /**
+         * 커서(keyset) 기반 도서 목록 조회
+         * - book_id < cursor 조건으로 size + 1 건만 조회 (OFFSET 스캔 / COUNT 쿼리 없음)
+         * - 1건 더 조회된 경우에만 다음 페이지가 존재한다고 판단
+         * - categoryId 가 있으면 (category_id, book_id) 인덱스 범위 조회
+         */
+        validateCursorSize(size);
+
+        Long cursor = BookCursorResponse.decodeCursor(after);
+        long seek = cursor != null ? cursor : Long.MAX_VALUE;
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<BookSummary> rows = categoryId == null
+                ? bookRepository.findSummariesBefore(seek, limit)
+                : bookRepository.findSummariesByCategoryBefore(categoryId, seek, limit);
+
+        return BookCursorResponse.from(rows, size);
+    }
+
+    public BookCursorResponse searchBooksByTitleCursor(String title, Long categoryId, String after, int size) {
+        log.info("도서 제목 커서 검색 서비스 시작: title={}, categoryId={}, after={}, size={}", title, categoryId, after, size);
+
+        if (title == null || title.isBlank()) {
+            log.warn("도서 제목 커서 검색 실패 - 잘못된 검색어: title 비어 있음");
+            throw new IllegalArgumentException("검색어(title)가 올바르지 않습니다.");
+        }
+        validateCursorSize(size);
 
-        log.info("도서 제목 검색 서비스 완료: title={}, totalElements={}", title, result.getTotalElements());
-        return BookListResponse.from(result);
+        Long cursor = BookCursorResponse.decodeCursor(after);
+        long seek = cursor != null ? cursor : Long.MAX_VALUE;
+
+        List<BookSummary> rows = bookSearchIndex.isReady()
+                ? findSummariesInOrder(bookSearchIndex.searchBefore(title.trim(), categoryId, seek, size + 1))
+                : bookRepository.searchSummariesByTextBefore(title.trim(), categoryId, seek, PageRequest.of(0, size + 1));
+
+        return BookCursorResponse.from(rows, size);
+    }
+
+    public String getCatalogETag() {
+        // 목록/검색 응답 ETag — 도서 등록/수정/삭제 커밋 시에만 바뀜
+        return catalogVersion.etag();
+    }
+
+    public String getBookDetailETag(Long bookId) {
+        /**
+         * 도서 상세 ETag 조회
+         * - 상세 캐시에 있으면 캐시된 version 사용, 없으면 version 컬럼만 조회 (엔티티 로딩/직렬화 없음)
+         * - 도서가 없으면 null (→ 일반 상세 조회 경로에서 예외 처리)
+         */
+        BookDetailResponse cached = bookDetailCache.getIfPresent(bookId);
+        Long version = cached != null
+                ? cached.getVersion()
+                : bookRepository.findVersionById(bookId).orElse(null);
+
+        return version != null ? detailETag(bookId, version) : null;
+    }
+
+    // 상세 응답 ETag 값 (예: b12-v3)
+    public static String detailETag(Long bookId, Long version) {
+        return "b" + bookId + "-v" + version;
+    }
+
+    public CoverIngestStatusResponse getCoverStatus(Long bookId) {
+        /**
+         * 표지 업로드 작업 상태 조회 서비스
+         *
+         * <동작 개요>
+         * - 도서 등록/수정 시 등록된 표지 업로드 작업 중 가장 최근 작업의 상태를 반환한다.
+         *   (클라이언트는 DONE 이 될 때까지 이 API 로 확인 후 상세를 다시 조회)
+         *
+         * @param bookId 도서 ID
+         * @return CoverIngestStatusResponse
+         */
+        return bookCoverIngestService.getStatus(bookId);
     }
 
     public BookDetailResponse getBookDetail(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new IllegalArgumentException("도서를 찾을 수 없습니다."));
-        return BookDetailResponse.from(book);
+        // 캐시 hit 이면 DB 조회 없음 (수정/삭제/표지 변경 시 해당 bookId 만 무효화)
+        return bookDetailCache.get(bookId, id -> {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("도서를 찾을 수 없습니다."));
+            return BookDetailResponse.from(book);
+        });
     }
 
     @Transactional
@@ -83,12 +245,16 @@ public class BookService {
                     return new RuntimeException("사용자 정보를 찾을 수 없습니다.");
                 });
 
-        // 3) 카테고리 조회
-        Category category = categoryRepository.findById(req.getCategoryId())
-                .orElseThrow(() -> {
-                    log.warn("도서 등록 실패 - 카테고리 조회 실패: categoryId={}", req.getCategoryId());
-                    return new RuntimeException("카테고리 정보를 찾을 수 없습니다.");
-                });
+        // 3) 카테고리 검증 (메모리 스냅샷) → 존재하면 SELECT 없이 참조만 획득
+        if (!categoryRegistry.contains(req.getCategoryId())) {
+            log.warn("도서 등록 실패 - 카테고리 조회 실패: categoryId={}", req.getCategoryId());
+            throw new RuntimeException("카테고리 정보를 찾을 수 없습니다.");
+        }
+        Category category = categoryRepository.getReferenceById(req.getCategoryId());
+
+        if (req.getImageUrl() != null && !req.getImageUrl().isBlank()) {
+            bookCoverIngestService.validateSourceUrl(req.getImageUrl());
+        }
 
         // 4) Book 생성 + 저장(먼저 bookId 확보)
         Book book = new Book();
@@ -101,34 +267,146 @@ public class BookService {
         Book saved = bookRepository.save(book);
         log.info("도서 등록 서비스 - Book 저장 완료: bookId={}", saved.getId());
 
-        // 5) 이미지 URL 들어온 경우 → S3 업로드 → DB에 최종 URL 저장
+        // 5) 이미지 URL 들어온 경우 → 표지 업로드 작업만 등록 (다운로드/S3 업로드는 커밋 이후 워커에서 처리)
         if (req.getImageUrl() != null && !req.getImageUrl().isBlank()) {
+            bookCoverIngestService.enqueue(saved.getId(), req.getImageUrl());
+            log.info("도서 등록 서비스 - 표지 업로드 작업 등록: bookId={}, imageUrl={}", saved.getId(), req.getImageUrl());
+        }
 
-            String publicUrl = bookCoverStorageService.saveCoverFromUrl(
-                    req.getImageUrl(),
-                    saved.getId()
-            );
+        indexAfterCommit(saved);
+        evictDetail(saved.getId());
+        Long createdCategoryId = category.getId();
+        afterCommit(() -> {
+            bookCountService.onCreated(createdCategoryId);
+            catalogVersion.bump();
+        });
 
-            if (publicUrl == null) {
-                //  테스트용: 업로드 실패해도 도서 생성은 진행
-                log.warn("이미지 업로드 실패(테스트 진행): imageUrl={}", req.getImageUrl());
-            } else {
-                saved.setImageUrl(publicUrl);
+        log.info("도서 등록 서비스 완료: bookId={}", saved.getId());
+        return new BookCreateResponse(saved.getId());
+    }
 
-                //  중요: imageUrl 반영을 확실히 DB에 저장
-                bookRepository.save(saved);
+    @Transactional
+    public BookBatchCreateResponse createBooks(String userId, BookBatchCreateRequest req) {
+        /**
+         * 도서 일괄 등록 서비스
+         *
+         * <동작 개요>
+         * - 다른 시스템에서 도서 목록을 옮겨올 때 사용하며, 한 요청에 최대 500건까지 등록한다.
+         * - 모든 항목을 먼저 검증한 뒤(하나라도 잘못되면 전체 거절) 한 트랜잭션에서 저장한다.
+         * - book_id 는 시퀀스에서 미리 할당받으므로 INSERT 가 JDBC 배치(hibernate.jdbc.batch_size)로 묶여 전송되고,
+         *   MySQL 드라이버(rewriteBatchedStatements)가 이를 multi-row INSERT 로 바꿔 왕복 횟수를 줄인다.
+         * - 표지 이미지는 커밋 이후 BookCoverIngestService 스레드 풀에서 도서별로 업로드한다. (응답을 기다리게 하지 않음)
+         *
+         * @param userId 등록 사용자 ID (JWT 인증)
+         * @param req    등록할 도서 목록
+         * @return BookBatchCreateResponse
+         *  - 생성된 도서 ID 목록(요청 순서), 표지 업로드 예약 건수
+         */
+        List<BookCreateRequest> items = req != null ? req.getBooks() : null;
+        log.info("도서 일괄 등록 서비스 시작: userId={}, size={}", userId, items != null ? items.size() : 0);
+
+        // 1) 건수 검증
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_CREATE_SIZE) {
+            log.warn("도서 일괄 등록 실패 - 건수 범위 초과: size={}", items != null ? items.size() : 0);
+            throw new IllegalArgumentException("한 번에 1~" + MAX_BATCH_CREATE_SIZE + "건까지 등록할 수 있습니다.");
+        }
 
-                log.info("도서 등록 서비스 - imageUrl 저장 완료: bookId={}, imageUrl={}", saved.getId(), publicUrl);
+        // 2) 항목별 필수 값 / 카테고리 검증 (DB 접근 없이 전부 먼저 확인)
+        for (int i = 0; i < items.size(); i++) {
+            BookCreateRequest item = items.get(i);
+            if (item == null
+                    || item.getTitle() == null || item.getTitle().isBlank()
+                    || item.getDescription() == null || item.getDescription().isBlank()
+                    || item.getContent() == null || item.getContent().isBlank()) {
+                log.warn("도서 일괄 등록 실패 - 잘못된 요청 데이터: index={}", i);
+                throw new IllegalArgumentException("도서 정보가 올바르지 않습니다. (index=" + i + ")");
+            }
+            if (!categoryRegistry.contains(item.getCategoryId())) {
+                log.warn("도서 일괄 등록 실패 - 카테고리 정보 오류: index={}, categoryId={}", i, item.getCategoryId());
+                throw new IllegalArgumentException("카테고리 정보가 올바르지 않습니다. (index=" + i + ")");
+            }
+            if (item.getImageUrl() != null && !item.getImageUrl().isBlank()) {
+                try {
+                    bookCoverIngestService.validateSourceUrl(item.getImageUrl());
+                } catch (IllegalArgumentException e) {
+                    log.warn("도서 일괄 등록 실패 - 이미지 URL 오류: index={}", i);
+                    throw new IllegalArgumentException(e.getMessage() + " (index=" + i + ")");
+                }
             }
         }
 
-        log.info("도서 등록 서비스 완료: bookId={}", saved.getId());
-        return new BookCreateResponse(saved.getId());
+        // 3) 사용자 조회 (한 번만)
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> {
+                    log.warn("도서 일괄 등록 실패 - 사용자 조회 실패: userId={}", userId);
+                    return new RuntimeException("사용자 정보를 찾을 수 없습니다.");
+                });
+
+        // 4) Book 생성 + 일괄 저장 (INSERT 는 flush/커밋 시 배치로 전송)
+        Map<Long, Category> categories = new HashMap<>();
+        List<Book> books = new ArrayList<>(items.size());
+        for (BookCreateRequest item : items) {
+            Book book = new Book();
+            book.setUser(user);
+            book.setCategoryId(categories.computeIfAbsent(item.getCategoryId(), categoryRepository::getReferenceById));
+            book.setTitle(item.getTitle());
+            book.setDescription(item.getDescription());
+            book.setContent(item.getContent());
+            books.add(book);
+        }
+
+        List<Book> saved = bookRepository.saveAll(books);
+
+        // 5) 표지 업로드 작업 등록 (같은 트랜잭션에 저장, 처리는 커밋 이후 워커에서)
+        List<CoverIngestJob> coverJobs = new ArrayList<>();
+        for (int i = 0; i < saved.size(); i++) {
+            Book book = saved.get(i);
+            String imageUrl = items.get(i).getImageUrl();
+            if (imageUrl != null && !imageUrl.isBlank()) {
+                coverJobs.add(new CoverIngestJob(book.getId(), imageUrl.trim()));
+            }
+            indexAfterCommit(book);
+        }
+        bookCoverIngestService.enqueueNew(coverJobs);
+
+        // 6) 커밋 이후: 색인 / 건수 / ETag 반영
+
+        List<Long> createdCategoryIds = saved.stream()
+                .map(book -> book.getCategoryId().getId())
+                .toList();
+        afterCommit(() -> {
+            createdCategoryIds.forEach(bookCountService::onCreated);
+            catalogVersion.bump();
+        });
+
+        List<Long> bookIds = saved.stream().map(Book::getId).toList();
+
+        log.info("도서 일괄 등록 서비스 완료: size={}, coverQueued={}", bookIds.size(), coverJobs.size());
+        return new BookBatchCreateResponse(bookIds, coverJobs.size());
     }
 
-    @Transactional
-    @SuppressWarnings("null")
     public BookUpdateResponse updateBook(String userId, Long bookId, BookUpdateRequest req) {
+        /**
+         * 도서 수정 (낙관적 락 충돌 시 재시도)
+         * - 읽은 뒤 커밋 전에 표지 작업(updateCoverUrls)이 version 을 올리면 커밋 시 충돌한다.
+         *   → 도서를 다시 읽어서 수정 내용을 다시 적용 (표지 작업이 바꾼 표지 URL 을 덮어쓰지 않음)
+         * - UPDATE_MAX_ATTEMPTS 번 모두 충돌하면 409
+         */
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(userId, bookId, req));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= UPDATE_MAX_ATTEMPTS) {
+                    log.warn("도서 수정 실패 - 동시 수정 충돌: bookId={}, attempts={}", bookId, attempt);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 요청과 동시에 수정되었습니다. 다시 시도해주세요.");
+                }
+                log.info("도서 수정 충돌 → 다시 읽어서 재시도: bookId={}, attempt={}", bookId, attempt);
+            }
+        }
+    }
+
+    @SuppressWarnings("null")
+    private BookUpdateResponse applyUpdate(String userId, Long bookId, BookUpdateRequest req) {
         log.info("도서 수정 서비스 시작: userId={}, bookId={}, title={}", userId, bookId, req.getTitle());
 
         // 1) 필수 값 검증
@@ -164,14 +442,15 @@ public class BookService {
             throw new RuntimeException("본인이 등록한 도서만 수정할 수 있습니다.");
         }
 
-        // 5) 카테고리 조회
-        Category category = categoryRepository.findById(req.getCategoryId())
-                .orElseThrow(() -> {
-                    log.warn("도서 수정 실패 - 카테고리 조회 실패: categoryId={}", req.getCategoryId());
-                    return new RuntimeException("카테고리 정보를 찾을 수 없습니다.");
-                });
+        // 5) 카테고리 검증 (메모리 스냅샷) → 존재하면 SELECT 없이 참조만 획득
+        if (!categoryRegistry.contains(req.getCategoryId())) {
+            log.warn("도서 수정 실패 - 카테고리 조회 실패: categoryId={}", req.getCategoryId());
+            throw new RuntimeException("카테고리 정보를 찾을 수 없습니다.");
+        }
+        Category category = categoryRepository.getReferenceById(req.getCategoryId());
 
         // 6) 기본 필드 수정
+        Long previousCategoryId = book.getCategoryId().getId();
         book.setCategoryId(category);
         book.setTitle(req.getTitle());
         book.setDescription(req.getDescription());
@@ -181,27 +460,22 @@ public class BookService {
         Book saved = bookRepository.save(book);
         log.info("도서 수정 기본 정보 저장 완료: bookId={}, imageUrl(초기)={}", saved.getId(), saved.getImageUrl());
 
-        // 7) imageUrl 들어온 경우 → S3 업로드 → DB에 최종 URL 저장
+        // 7) imageUrl 들어온 경우 → 형식만 검증 후 표지 업로드 작업 등록 (완료되면 image_url 이 교체됨)
         if (req.getImageUrl() != null && !req.getImageUrl().isBlank()) {
-
-            String publicUrl = bookCoverStorageService.saveCoverFromUrl(
-                    req.getImageUrl(),
-                    saved.getId()
-            );
-
-            if (publicUrl == null) {
-                log.warn("도서 수정 실패 - 유효하지 않은 이미지 URL: {}", req.getImageUrl());
-                throw new IllegalArgumentException("유효하지 않은 이미지 URL입니다.");
-            }
-
-            saved.setImageUrl(publicUrl);
-
-            //  중요: imageUrl 반영을 확실히 DB에 저장
-            bookRepository.save(saved);
-
-            log.info("도서 수정 서비스 - imageUrl 저장 완료: bookId={}, imageUrl={}", saved.getId(), publicUrl);
+            bookCoverIngestService.validateSourceUrl(req.getImageUrl());
+            bookCoverIngestService.enqueue(saved.getId(), req.getImageUrl());
+            log.info("도서 수정 서비스 - 표지 업로드 작업 등록: bookId={}, imageUrl={}", saved.getId(), req.getImageUrl());
         }
 
+        indexAfterCommit(saved);
+        evictDetail(saved.getId());
+        Long updatedCategoryId = category.getId();
+        afterCommit(() -> {
+            bookCountService.onCategoryChanged(previousCategoryId, updatedCategoryId);
+            bookCountService.invalidateSearchCounts();
+            catalogVersion.bump();
+        });
+
         log.info("도서 수정 서비스 완료: bookId={}, 최종 imageUrl={}", saved.getId(), saved.getImageUrl());
         return new BookUpdateResponse(saved.getId());
     }
@@ -215,16 +489,91 @@ public class BookService {
             throw new RuntimeException("본인이 등록한 도서만 삭제할 수 있습니다.");
         }
 
-        String imageUrl = book.getImageUrl();
-        if (imageUrl != null && !imageUrl.isBlank()) {
-            String key = imageUrl.substring(imageUrl.indexOf(".amazonaws.com/") + ".amazonaws.com/".length());
-            s3Client.deleteObject(DeleteObjectRequest.builder()
-                    .bucket("user045-book")
-                    .key(key)
-                    .build());
+        // 표지: 내용 주소 방식이면 참조만 해제 (다른 도서가 같은 이미지를 쓰지 않을 때만 S3 객체 삭제),
+        //       이전 방식(bookId key)으로 저장된 표지는 원본 + 상세/썸네일 변형 이미지 삭제를 같은 트랜잭션에서 outbox 에 예약
+        if (book.getCoverHash() != null) {
+            coverObjectService.release(book.getCoverHash());
+        } else {
+            List<String> legacyKeys = new ArrayList<>();
+            for (String imageUrl : new String[]{book.getImageUrl(), book.getDetailImageUrl(), book.getThumbnailUrl()}) {
+                coverStorage.keyOf(imageUrl).ifPresent(legacyKeys::add);
+            }
+            storageOutboxService.enqueueDeletes(legacyKeys);
         }
 
+        Long deletedCategoryId = book.getCategoryId().getId();
+        bookCoverIngestService.cancel(bookId);
         bookRepository.delete(book);
+        evictDetail(bookId);
+        afterCommit(() -> {
+            bookSearchIndex.remove(bookId);
+            bookCountService.onDeleted(deletedCategoryId);
+            catalogVersion.bump();
+        });
+
         return new DeleteBookResponse(bookId, 1);
     }
+
+    private void validateCursorSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("조회 개수(size)가 올바르지 않습니다.");
+        }
+    }
+
+    // 검색 색인 순서(bookId 목록)를 유지한 채 목록용 행 조회
+    private List<BookSummary> findSummariesInOrder(List<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, BookSummary> byId = bookRepository.findSummariesByIdIn(bookIds).stream()
+                .collect(Collectors.toMap(BookSummary::getBookId, Function.identity()));
+
+        // 색인에는 있는데 DB 에 없는 도서 = 다른 서버에서 삭제됨 → 색인에서도 제거
+        // (색인은 커밋 이후에만 반영되므로 아직 커밋 전인 도서일 수는 없음)
+        if (byId.size() < bookIds.size()) {
+            bookIds.stream()
+                    .filter(id -> !byId.containsKey(id))
+                    .forEach(bookSearchIndex::remove);
+        }
+
+        return bookIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void indexAfterCommit(Book book) {
+        BookSearchDocument doc = new BookSearchDocument(
+                book.getId(),
+                book.getCategoryId().getId(),
+                book.getTitle(),
+                book.getDescription(),
+                book.getContent(),
+                book.getVersion()
+        );
+        afterCommit(() -> bookSearchIndex.index(doc));
+    }
+
+    // 상세 캐시 무효화: 즉시 + 커밋 직후 한 번 더
+    // (커밋 전 다른 요청이 이전 값을 다시 캐시에 올리는 경우 방지)
+    private void evictDetail(Long bookId) {
+        bookDetailCache.invalidate(bookId);
+        afterCommit(() -> bookDetailCache.invalidate(bookId));
+    }
+
+    // 트랜잭션 커밋 이후 실행 (롤백되면 색인에 반영하지 않음)
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -1,47 +1,75 @@
 package com.example.back.service;
 
+import com.example.back.DTO.CategoryFacetResponse;
 import com.example.back.DTO.CategoryItemResponse;
-import com.example.back.entity.Category;
-import com.example.back.repository.CategoryRepository;
+import com.example.back.cache.CategoryRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final BookCountService bookCountService;
 
     public List<CategoryItemResponse> getCategories() {
         /**
          * 카테고리 목록 조회 서비스
          *
          * <동작 개요>
-         * - 데이터베이스에 저장된 모든 카테고리 정보를 ID 기준 오름차순으로 조회한 후,
-         *   클라이언트에 전달할 CategoryItemResponse DTO 형태로 변환하여 반환한다.
-         *
-         * 처리 흐름
-         * 1. CategoryRepository를 통해 전체 카테고리 목록을 ID 오름차순으로 조회한다.
-         * 2. 조회한 Category 엔티티 목록을 CategoryItemResponse DTO 리스트로 변환한다.
-         * 3. 변환된 DTO 리스트를 컨트롤러로 반환한다.
+         * - CategoryRegistry 가 메모리에 유지하는 카테고리 스냅샷(ID 오름차순)을 그대로 반환한다.
+         *   (요청마다 DB 를 조회하지 않음)
          *
          * @return List<CategoryItemResponse>
          *  - 카테고리 ID와 이름을 포함한 카테고리 목록 데이터
          */
 
-        // 1) DB에서 전체 카테고리 조회
-        List<Category> categories =
-                categoryRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+        return categoryRegistry.getItems();
+    }
+
+    public byte[] getCategoriesPayload() {
+        /**
+         * 카테고리 목록 응답 본문 조회 서비스
+         *
+         * <동작 개요>
+         * - GET /api/categories 응답(ApiResponse JSON)을 스냅샷 갱신 시점에 미리 직렬화해 둔 바이트를 반환한다.
+         *   (요청마다 DB 조회 / JSON 직렬화를 하지 않음)
+         *
+         * @return byte[]
+         *  - application/json 응답 본문
+         */
+
+        return categoryRegistry.getPayload();
+    }
+
+    public List<CategoryFacetResponse> getCategoryFacets() {
+        /**
+         * 카테고리별 도서 수 조회 서비스 (facet)
+         *
+         * <동작 개요>
+         * - 카테고리 목록에 BookCountService 가 메모리에 유지하는 카테고리별 도서 수를 붙여 반환한다.
+         * - 도서 수는 등록/수정/삭제 시 증분 갱신되므로 요청마다 GROUP BY 쿼리를 실행하지 않는다.
+         * - 기동 직후 카운터가 아직 적재되지 않았다면(BookCountInitializer 실행 전) 요청 스레드에서 동기화하지 않고
+         *   도서 수 0 으로 응답한다. (동시 요청마다 전체 재동기화가 실행되지 않도록)
+         *
+         * @return List<CategoryFacetResponse>
+         *  - 카테고리 ID, 이름, 도서 수
+         */
+
+        // 1) 메모리 카운터 스냅샷 (동기화 전이면 비어 있음 → 0)
+        Map<Long, Long> counts = bookCountService.getCategoryTotals();
 
-        // 2) Entity -> DTO 변환
-        return categories.stream()
-                .map(c -> new CategoryItemResponse(
-                        c.getId(),   // categoryId
-                        c.getName()  // name
+        // 2) 카테고리 목록 + 도서 수 결합
+        return categoryRegistry.getItems().stream()
+                .map(c -> new CategoryFacetResponse(
+                        c.getCategoryId(),
+                        c.getName(),
+                        counts.getOrDefault(c.getCategoryId(), 0L)
                 ))
                 .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,327 @@
+package com.example.back.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 표지 원본 이미지 다운로드 (공용 HTTP 클라이언트 래퍼)
+ *
+ * <동작 개요>
+ * - coverHttpClient(연결 풀 공유, HTTP/2 우선) 하나로 모든 표지를 받으므로
+ *   같은 CDN 을 가리키는 일괄 등록은 연결을 재사용하고 요청마다 TCP/TLS handshake 를 반복하지 않는다.
+ * - 호스트별 동시 요청 수를 app.covers.fetch.max-per-host 로 제한한다.
+ *   (한도에 걸리면 permit-timeout-ms 만큼 기다린 뒤 실패 → 표지 작업은 backoff 후 재시도)
+ *   호스트별 limiter 는 사용 중(대기 포함)인 요청 수를 세어 0 이 될 때만 지우므로,
+ *   permit 을 쥔 요청이 있는 동안 같은 호스트에 새 limiter 가 생겨 한도가 풀리는 일이 없다.
+ * - 요청 전에 호스트 이름을 미리 조회해 DNS 소요 시간을 cover.fetch.dns 타이머로 남긴다.
+ *   (JVM 주소 캐시에 올라가므로 곧이어 클라이언트가 연결할 때는 다시 조회하지 않음)
+ * - 응답 헤더까지 걸린 시간(새 연결이면 연결/TLS 포함)은 cover.fetch.requests(outcome, protocol) 타이머,
+ *   진행 중 다운로드 수는 cover.fetch.in-flight, 한도 초과는 cover.fetch.rejected 로 노출된다.
+ * - request-timeout-ms 는 응답 헤더까지만 적용되므로, 본문은 헤더 수신 후 body-timeout-ms 안에 다 받지 못하면
+ *   스트림을 강제로 닫아 읽던 스레드를 깨우고 HttpTimeoutException 으로 실패시킨다. (cover.fetch.body-timeouts)
+ *   → 본문이 멈춘 서버 때문에 작업 스레드와 호스트 permit 이 계속 묶여 있지 않음
+ */
+@Component
+public class CoverImageFetcher {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    private final HttpClient httpClient;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, HostLimiter> hostLimits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer dnsTimer;
+    private final Counter rejected;
+    private final Counter bodyTimeouts;
+
+    // 본문 수신 제한 시간 타이머 (제한 시간이 지나면 해당 응답 스트림을 닫기만 하는 가벼운 작업)
+    private final ScheduledThreadPoolExecutor bodyDeadlines;
+
+    private final int maxPerHost;
+    private final long permitTimeoutMs;
+    private final Duration requestTimeout;
+    private final long bodyTimeoutMs;
+
+    public CoverImageFetcher(
+            @Qualifier("coverHttpClient") HttpClient httpClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.covers.fetch.max-per-host:4}") int maxPerHost,
+            @Value("${app.covers.fetch.permit-timeout-ms:10000}") long permitTimeoutMs,
+            @Value("${app.covers.fetch.request-timeout-ms:15000}") long requestTimeoutMs,
+            @Value("${app.covers.fetch.body-timeout-ms:30000}") long bodyTimeoutMs
+    ) {
+        this.httpClient = httpClient;
+        this.meterRegistry = meterRegistry;
+        this.maxPerHost = maxPerHost;
+        this.permitTimeoutMs = permitTimeoutMs;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.bodyTimeoutMs = bodyTimeoutMs;
+
+        this.bodyDeadlines = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "cover-fetch-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bodyDeadlines.setRemoveOnCancelPolicy(true);
+
+        this.dnsTimer = Timer.builder("cover.fetch.dns").register(meterRegistry);
+        this.rejected = Counter.builder("cover.fetch.rejected").register(meterRegistry);
+        this.bodyTimeouts = Counter.builder("cover.fetch.body-timeouts").register(meterRegistry);
+        Gauge.builder("cover.fetch.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("cover.fetch.hosts", hostLimits, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bodyDeadlines.shutdownNow();
+    }
+
+    /**
+     * 다운로드 응답 (본문을 다 읽거나 중단하면 반드시 close → 연결 반환 + 호스트 permit 반환)
+     */
+    public static final class Fetched implements AutoCloseable {
+
+        private final HttpResponse<InputStream> response;
+        private final InputStream body;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final AtomicBoolean timedOut = new AtomicBoolean(false);
+        private volatile ScheduledFuture<?> deadline;
+
+        private Fetched(HttpResponse<InputStream> response, Runnable onClose) {
+            this.response = response;
+            this.body = new DeadlineInputStream(response.body(), timedOut);
+            this.onClose = onClose;
+        }
+
+        public int status() {
+            return response.statusCode();
+        }
+
+        // Content-Length 헤더 (없으면 -1)
+        public long contentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        }
+
+        public String contentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        public HttpClient.Version protocol() {
+            return response.version();
+        }
+
+        public InputStream body() {
+            return body;
+        }
+
+        // 본문 수신 제한 시간 초과 (타이머 스레드에서 호출) → 스트림을 닫아 read 에 막혀 있는 스레드를 깨움
+        private boolean abort() {
+            if (closed.get() || !timedOut.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                response.body().close();
+            } catch (IOException ignored) {
+                // 닫는 중 오류는 무시 (읽던 쪽은 timedOut 으로 실패 처리)
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            ScheduledFuture<?> pending = deadline;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            try {
+                response.body().close();
+            } catch (IOException ignored) {
+                // 끝까지 읽지 않은 연결은 클라이언트가 풀에 돌려놓지 않고 닫음
+            } finally {
+                onClose.run();
+            }
+        }
+    }
+
+    /**
+     * 제한 시간이 지나 강제로 닫힌 스트림은 EOF(-1) 대신 HttpTimeoutException 을 던진다.
+     * (잘린 본문을 정상 이미지로 저장하지 않도록)
+     */
+    private static final class DeadlineInputStream extends FilterInputStream {
+
+        private final AtomicBoolean timedOut;
+
+        private DeadlineInputStream(InputStream in, AtomicBoolean timedOut) {
+            super(in);
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result;
+            try {
+                result = super.read();
+            } catch (IOException e) {
+                throw timedOut.get() ? timeout() : e;
+            }
+            if (timedOut.get()) {
+                throw timeout();
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result;
+            try {
+                result = super.read(b, off, len);
+            } catch (IOException e) {
+                throw timedOut.get() ? timeout() : e;
+            }
+            if (timedOut.get()) {
+                throw timeout();
+            }
+            return result;
+        }
+
+        private static HttpTimeoutException timeout() {
+            return new HttpTimeoutException("표지 이미지 본문 수신 시간 초과");
+        }
+    }
+
+    // GET 요청 후 응답 헤더까지 받아서 반환 (본문은 호출 측이 스트리밍)
+    public Fetched open(String imageUrl) throws IOException, InterruptedException {
+        URI uri = URI.create(imageUrl.trim());
+        String host = uri.getHost();
+        if (host == null) {
+            throw new IllegalArgumentException("유효하지 않은 이미지 URL입니다.");
+        }
+
+        String hostKey = host.toLowerCase(Locale.ROOT);
+        HostLimiter limiter = retain(hostKey);
+        boolean acquired = false;
+        try {
+            acquired = limiter.permits.tryAcquire(permitTimeoutMs, TimeUnit.MILLISECONDS);
+        } finally {
+            if (!acquired) {
+                unretain(hostKey);
+            }
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RejectedExecutionException("호스트별 동시 다운로드 한도 초과: host=" + host);
+        }
+        inFlight.incrementAndGet();
+        Runnable release = () -> {
+            inFlight.decrementAndGet();
+            limiter.permits.release();
+            unretain(hostKey);
+        };
+
+        long start = System.nanoTime();
+        try {
+            resolve(host);
+
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    //  봇 차단(403) 회피용 헤더
+                    .header("User-Agent", USER_AGENT)
+                    .header("Accept", "image/avif,image/webp,image/apng,image/*,*/*;q=0.8")
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .GET()
+                    .build();
+
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            record(start, (response.statusCode() / 100) + "xx", response.version().name());
+
+            Fetched fetched = new Fetched(response, release);
+            fetched.deadline = bodyDeadlines.schedule(() -> {
+                if (fetched.abort()) {
+                    bodyTimeouts.increment();
+                }
+            }, bodyTimeoutMs, TimeUnit.MILLISECONDS);
+            return fetched;
+        } catch (UnknownHostException e) {
+            record(start, "dns-error", "none");
+            release.run();
+            throw e;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            record(start, "error", "none");
+            release.run();
+            throw e;
+        }
+    }
+
+    // 호스트 limiter 사용 시작 (없으면 생성) — users 는 compute 안에서만 변경
+    private HostLimiter retain(String host) {
+        return hostLimits.compute(host, (h, limiter) -> {
+            HostLimiter current = limiter != null ? limiter : new HostLimiter(maxPerHost);
+            current.users++;
+            return current;
+        });
+    }
+
+    // 호스트 limiter 사용 종료 (대기/사용 중인 요청이 없으면 제거)
+    private void unretain(String host) {
+        hostLimits.computeIfPresent(host, (h, limiter) -> --limiter.users == 0 ? null : limiter);
+    }
+
+    private static final class HostLimiter {
+
+        private final Semaphore permits;
+        private int users;
+
+        private HostLimiter(int maxPerHost) {
+            this.permits = new Semaphore(maxPerHost);
+        }
+    }
+
+    private void resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            InetAddress.getAllByName(host);
+        } finally {
+            dnsTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void record(long startNanos, String outcome, String protocol) {
+        Timer.builder("cover.fetch.requests")
+                .tag("outcome", outcome)
+                .tag("protocol", protocol)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.back.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * 표지 이미지 리사이즈 (목록 썸네일 / 상세 이미지 변형 생성)
+ *
+ * <동작 개요>
+ * - 원본을 한 번만 디코딩하고, 필요한 최대 폭보다 훨씬 큰 이미지는 디코딩 단계에서 subsampling 으로 줄여
+ *   큰 원본이라도 힙에 전체 해상도 픽셀을 올리지 않는다.
+ * - subsampling 배율은 폭뿐 아니라 전체 픽셀 수(max-decoded-pixels)로도 정해 세로로 긴 이미지도 힙 사용량이 제한되고,
+ *   원본 픽셀 수가 max-source-pixels 를 넘으면 디코딩하지 않고 원본만 사용한다. (디컴프레션 폭탄 대비)
+ * - 디코딩한 이미지에서 폭 기준으로 썸네일 / 상세 이미지를 만들어 JPEG 로 인코딩한다.
+ *   (JDK ImageIO 에 WebP 인코더가 없어 변형은 JPEG 사용, 원본보다 크게 늘리지 않음)
+ */
+@Slf4j
+@Component
+public class CoverImageResizer {
+
+    @Value("${app.s3.cover-variants.thumbnail-width:240}")
+    private int thumbnailWidth;
+
+    @Value("${app.s3.cover-variants.detail-width:720}")
+    private int detailWidth;
+
+    @Value("${app.s3.cover-variants.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${app.s3.cover-variants.max-source-pixels:100000000}")
+    private long maxSourcePixels;
+
+    @Value("${app.s3.cover-variants.max-decoded-pixels:4000000}")
+    private long maxDecodedPixels;
+
+    /**
+     * 변형 결과
+     *  - detail    : 상세 화면용 JPEG
+     *  - thumbnail : 목록 썸네일용 JPEG
+     */
+    public record Variants(byte[] detail, byte[] thumbnail) {}
+
+    // 원본 파일 → 변형 이미지 (ImageIO 가 읽을 수 없는 형식이거나 원본이 너무 크면 null)
+    public Variants createVariants(Path original) throws IOException {
+        BufferedImage decoded = decode(original, detailWidth);
+        if (decoded == null) {
+            return null;
+        }
+
+        BufferedImage detail = resizeToWidth(decoded, detailWidth);
+        BufferedImage thumbnail = resizeToWidth(detail, thumbnailWidth);
+
+        return new Variants(encodeJpeg(detail), encodeJpeg(thumbnail));
+    }
+
+    // 폭이 minWidth 이상 남는 범위에서 정수배 subsampling 하여 디코딩
+    // (단, 디코딩 결과가 maxDecodedPixels 를 넘지 않도록 필요하면 더 줄임)
+    private BufferedImage decode(Path file, int minWidth) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels > maxSourcePixels) {
+                    log.warn("표지 원본 픽셀 수 초과 → 변형 생성 생략: {}x{}", width, height);
+                    return null;
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int byWidth = width / minWidth;
+                int byPixels = (int) Math.ceil(Math.sqrt((double) pixels / maxDecodedPixels));
+                int factor = Math.max(1, Math.max(byWidth, byPixels));
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 폭 기준 비율 유지 축소 (투명 배경은 흰색으로, 큰 폭 차이는 절반씩 여러 번 줄여 품질 유지)
+    private BufferedImage resizeToWidth(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            int nextWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            int nextHeight = currentWidth / 2 >= width ? Math.max(1, currentHeight / 2) : height;
+
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, nextWidth, nextHeight);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(ios);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.back.service;
+
+import com.example.back.entity.CoverObject;
+import com.example.back.repository.CoverObjectRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 표지 이미지 객체(내용 주소 기반) 참조 관리 서비스
+ *
+ * <동작 개요>
+ * - 표지는 원본 SHA-256 으로 저장소 key 를 정하므로 같은 이미지는 한 번만 저장된다.
+ * - cover_objects 테이블에 hash 별 key 와 참조 수(ref_count, 해당 이미지를 쓰는 도서 수)를 기록한다.
+ * - 이미 있는 이미지면 참조 수만 올리고 업로드를 생략, 도서 삭제/표지 교체로 참조가 0 이 되면
+ *   같은 트랜잭션에서 저장소 객체 삭제를 storage_outbox 에 예약한다.
+ * - 삭제 예약 후 같은 이미지를 다시 올리면 등록 트랜잭션에서 그 삭제 요청을 취소한다. (삭제가 이미 진행 중이면 등록 실패 → 재시도)
+ * - /api/books/cover/{bookId} 용 bookId → 현재 표지 조회 결과를 짧은 TTL 로 캐시한다.
+ */
+@Slf4j
+@Service
+public class CoverObjectService {
+
+    /**
+     * 요청한 도서/변형에 해당하는 저장소 객체
+     *  - etag      : key 가 내용 hash + 변형 이름이므로 파일명 부분을 그대로 사용
+     *  - versioned : 요청 URL 의 v 가 현재 표지 hash 와 일치 (URL 이 내용과 1:1 이므로 immutable 캐시 가능)
+     */
+    public record ResolvedCover(String key, String contentType, String etag, boolean versioned) {}
+
+    private final CoverObjectRepository coverObjectRepository;
+    private final StorageOutboxService storageOutboxService;
+    private final Cache<Long, Optional<CoverObject>> lookups;
+
+    public CoverObjectService(
+            CoverObjectRepository coverObjectRepository,
+            StorageOutboxService storageOutboxService,
+            MeterRegistry meterRegistry,
+            @Value("${app.covers.lookup-ttl-ms:30000}") long lookupTtlMs
+    ) {
+        this.coverObjectRepository = coverObjectRepository;
+        this.storageOutboxService = storageOutboxService;
+
+        // bookId → 현재 표지 객체 (짧은 TTL, 표지가 바뀌면 v 불일치로 즉시 다시 조회)
+        this.lookups = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(lookupTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lookups, "coverLookup");
+    }
+
+    // variant: original(기본) / detail / thumb, version: 요청 URL 의 v (현재 표지 hash 앞부분)
+    public Optional<ResolvedCover> resolve(Long bookId, String variant, String version) {
+        Optional<CoverObject> object = lookups.get(bookId, coverObjectRepository::findByBookId);
+
+        // 표지가 바뀐 뒤의 URL(v)인데 이전 조회 결과가 남아 있으면 한 번 다시 조회
+        if (version != null && !object.map(o -> o.getHash().startsWith(version)).orElse(false)) {
+            lookups.invalidate(bookId);
+            object = lookups.get(bookId, coverObjectRepository::findByBookId);
+        }
+
+        return object.map(o -> {
+            String key = keyOf(o, variant);
+            String contentType = key.equals(o.getOriginalKey()) ? o.getContentType() : "image/jpeg";
+            boolean versioned = version != null && !version.isEmpty() && o.getHash().startsWith(version);
+            String etag = "\"" + key.substring(key.lastIndexOf('/') + 1) + "\"";
+            return new ResolvedCover(key, contentType, etag, versioned);
+        });
+    }
+
+    // 이미 저장된 이미지면 참조 수를 올리고 반환 (없으면 empty → 업로드 필요)
+    @Transactional
+    public Optional<CoverObject> acquire(String hash) {
+        if (coverObjectRepository.increment(hash) == 0) {
+            return Optional.empty();
+        }
+        return coverObjectRepository.findById(hash);
+    }
+
+    // 새로 업로드한 이미지 등록 (참조 수 1), 그 사이 다른 작업이 먼저 등록했다면 참조 수만 증가
+    // 같은 key 의 삭제 요청은 같은 트랜잭션에서 취소, 이미 삭제 중이면 등록하지 않고 실패 (→ 표지 작업 재시도 시 다시 업로드)
+    @Transactional
+    public void register(CoverObject object) {
+        if (!storageOutboxService.cancelDeletes(keysOf(object))) {
+            throw new IllegalStateException("표지 객체 삭제 처리 중 → 나중에 다시 등록: hash=" + object.getHash());
+        }
+        if (coverObjectRepository.insertIgnore(object) == 0) {
+            coverObjectRepository.increment(object.getHash());
+        }
+    }
+
+    // 참조 해제 → 0 이 되면 행 삭제 + 저장소 객체 삭제 예약 (outbox)
+    @Transactional
+    public void release(String hash) {
+        if (hash == null) {
+            return;
+        }
+
+        // key 는 바뀌지 않으므로 먼저 읽어 두고, 참조 수 판단은 조건부 DELETE 결과로만 한다.
+        CoverObject object = coverObjectRepository.findById(hash).orElse(null);
+        if (object == null) {
+            return;
+        }
+
+        coverObjectRepository.decrement(hash);
+        if (coverObjectRepository.deleteIfUnreferenced(hash) == 0) {
+            return;
+        }
+
+        // 같은 트랜잭션에 삭제 요청 기록 → 커밋된 경우에만 StorageOutboxService 가 일괄 삭제
+        storageOutboxService.enqueueDeletes(keysOf(object));
+        log.info("참조 없는 표지 객체 삭제 예약: hash={}", object.getHash());
+    }
+
+    private static List<String> keysOf(CoverObject object) {
+        return Stream.of(object.getOriginalKey(), object.getDetailKey(), object.getThumbnailKey())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static String keyOf(CoverObject object, String variant) {
+        if ("detail".equals(variant) && object.getDetailKey() != null) {
+            return object.getDetailKey();
+        }
+        if ("thumb".equals(variant) && object.getThumbnailKey() != null) {
+            return object.getThumbnailKey();
+        }
+        return object.getOriginalKey();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.back.service;
+
+import com.example.back.cache.OffHeapCoverCache;
+import com.example.back.service.CoverObjectService.ResolvedCover;
+import com.example.back.storage.CoverStorage;
+import com.example.back.storage.CoverStorage.ObjectStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 표지 프록시 (app.s3.return-mode: PROXY)
+ *
+ * <동작 개요>
+ * - 브라우저가 버킷에 직접 가지 않고 /api/books/cover/{bookId} 로 표지를 받도록, 앱 노드가 S3 를 대신 읽어 응답한다.
+ * - 표지 바이트는 off-heap LRU 캐시(OffHeapCoverCache)에 보관해 힙 크기와 무관하게 캐시 용량을 잡는다.
+ * - 캐시에 없을 때 같은 key 를 동시에 요청해도 저장소(CoverStorage) 조회는 한 번만 한다. (single-flight)
+ * - 캐시 항목 상한(max-entry-bytes)보다 큰 객체는 힙에 모으지 않고 저장소 스트림을 그대로 응답에 흘려보낸다.
+ * - 로컬 디스크 저장소는 파일을 바로 전송하므로 이 캐시를 거치지 않는다.
+ * - hit/miss 는 cover.proxy.requests(result), 전송량은 cover.proxy.bytes, 캐시 사용량은 cover.proxy.cache.* 로 노출된다.
+ * - PUBLIC_URL 모드에서는 캐시를 만들지 않는다. (direct 메모리 미할당)
+ */
+@Slf4j
+@Service
+public class CoverProxyService {
+
+    public static final String MODE_PROXY = "PROXY";
+
+    // single-flight 결과: 캐시에 넣을 수 없는 크기라 각 요청이 따로 스트림을 열어야 함
+    private static final byte[] UNCACHEABLE = new byte[0];
+
+    private final boolean enabled;
+    private final OffHeapCoverCache cache;
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> loads = new ConcurrentHashMap<>();
+
+    private final CoverStorage coverStorage;
+    private final int maxEntryBytes;
+    private final long fetchTimeoutMs;
+    private final long maxAgeSeconds;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesServed;
+
+    public CoverProxyService(
+            CoverStorage coverStorage,
+            MeterRegistry meterRegistry,
+            @Value("${app.s3.return-mode:PUBLIC_URL}") String returnMode,
+            @Value("${app.s3.proxy.cache-bytes:268435456}") long cacheBytes,
+            @Value("${app.s3.proxy.block-bytes:65536}") int blockBytes,
+            @Value("${app.s3.proxy.max-entry-bytes:4194304}") int maxEntryBytes,
+            @Value("${app.s3.proxy.fetch-timeout-ms:10000}") long fetchTimeoutMs,
+            @Value("${app.s3.proxy.max-age-seconds:300}") long maxAgeSeconds
+    ) {
+        this.coverStorage = coverStorage;
+        this.maxEntryBytes = maxEntryBytes;
+        this.fetchTimeoutMs = fetchTimeoutMs;
+        this.maxAgeSeconds = maxAgeSeconds;
+
+        this.enabled = MODE_PROXY.equalsIgnoreCase(returnMode);
+        this.cache = enabled ? new OffHeapCoverCache(cacheBytes, blockBytes, maxEntryBytes) : null;
+
+        this.hits = meterRegistry.counter("cover.proxy.requests", "result", "hit");
+        this.misses = meterRegistry.counter("cover.proxy.requests", "result", "miss");
+        this.bytesServed = Counter.builder("cover.proxy.bytes").baseUnit("bytes").register(meterRegistry);
+
+        if (enabled) {
+            Gauge.builder("cover.proxy.cache.used", cache, OffHeapCoverCache::usedBytes)
+                    .baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("cover.proxy.cache.capacity", cache, OffHeapCoverCache::capacityBytes)
+                    .baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("cover.proxy.cache.entries", cache, OffHeapCoverCache::size)
+                    .register(meterRegistry);
+            log.info("표지 프록시 모드: cacheBytes={}, blockBytes={}", cache.capacityBytes(), blockBytes);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 표지 바이트 전송 (ETag 조건부 요청은 컨트롤러에서 처리)
+     * - 캐시 hit: off-heap 블록을 그대로 응답 채널에 기록
+     * - 캐시 miss: 저장소 조회(single-flight) 후 캐시에 넣고 응답
+     * - 캐시에 넣을 수 없는 큰 객체: 저장소 스트림을 그대로 응답에 복사 (힙에 전체를 올리지 않음)
+     * @return 저장소에 객체가 없으면 false
+     */
+    public boolean write(ResolvedCover cover, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean head = "HEAD".equals(request.getMethod());
+
+        OffHeapCoverCache.Handle handle = cache.get(cover.key());
+        if (handle != null) {
+            hits.increment();
+            try (handle) {
+                writeHeaders(cover, handle.length(), response);
+                if (!head) {
+                    handle.writeTo(Channels.newChannel(response.getOutputStream()));
+                    bytesServed.increment(handle.length());
+                }
+            }
+            return true;
+        }
+
+        misses.increment();
+        ObjectStream object = fetch(cover);
+        if (object == null) {
+            return false;
+        }
+
+        try (object) {
+            writeHeaders(cover, object.length(), response);
+            if (!head) {
+                bytesServed.increment(object.body().transferTo(response.getOutputStream()));
+            }
+        }
+        return true;
+    }
+
+    // v 가 현재 표지와 일치하는 URL 은 내용이 바뀌지 않으므로 immutable, 그 외는 짧은 max-age 후 ETag 재검증
+    private void writeHeaders(ResolvedCover cover, long length, HttpServletResponse response) {
+        response.setContentType(cover.contentType());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cover.versioned()
+                ? "public, max-age=31536000, immutable"
+                : "public, max-age=" + maxAgeSeconds);
+    }
+
+    // 같은 key 의 저장소 조회는 하나만 진행, 나머지 요청은 그 결과를 기다림
+    // (캐시에 넣을 수 없는 크기면 먼저 연 요청은 그 스트림으로 응답하고, 기다리던 요청은 각자 스트림을 엶)
+    private ObjectStream fetch(ResolvedCover cover) throws IOException {
+        String key = cover.key();
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> load = loads.putIfAbsent(key, created);
+
+        if (load == null) {
+            return load(cover, created);
+        }
+
+        byte[] bytes = await(key, load);
+        if (bytes == UNCACHEABLE) {
+            return await(key, coverStorage.open(key));
+        }
+        return bytes == null ? null : ObjectStream.of(bytes);
+    }
+
+    // 저장소 스트림을 열어 캐시 가능한 크기면 읽어서 캐시에 넣고, 아니면 연 스트림을 그대로 반환
+    // 본문 읽기는 요청 스레드에서 수행 (저장소 future 완료 스레드를 막지 않도록)
+    private ObjectStream load(ResolvedCover cover, CompletableFuture<byte[]> created) throws IOException {
+        String key = cover.key();
+        CompletableFuture<ObjectStream> opening = coverStorage.open(key);
+        try {
+            ObjectStream object = await(key, opening);
+            if (object == null || object.length() > maxEntryBytes) {
+                loads.remove(key, created);
+                created.complete(object == null ? null : UNCACHEABLE);
+                return object;
+            }
+
+            byte[] bytes;
+            try (object) {
+                bytes = object.body().readNBytes((int) object.length());
+            }
+            // 캐시에 먼저 넣고 single-flight 항목을 지워야 그 사이 요청이 저장소를 다시 조회하지 않음
+            cache.put(key, cover.contentType(), bytes);
+            loads.remove(key, created);
+            created.complete(bytes);
+            return ObjectStream.of(bytes);
+        } catch (IOException | RuntimeException e) {
+            // 시간 초과로 포기한 경우 나중에 열리는 스트림도 닫아 연결을 반환
+            opening.thenAccept(CoverProxyService::closeQuietly);
+            loads.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> T await(String key, CompletableFuture<T> future) {
+        try {
+            T result = future.get(fetchTimeoutMs, TimeUnit.MILLISECONDS);
+            if (result == null) {
+                log.warn("표지 프록시 - 저장소에 객체 없음: key={}", key);
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("표지 조회에 실패했습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "표지 조회 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("표지 조회가 중단되었습니다.", e);
+        }
+    }
+
+    private static void closeQuietly(ObjectStream object) {
+        if (object == null) {
+            return;
+        }
+        try {
+            object.close();
+        } catch (IOException e) {
+            log.debug("표지 스트림 닫기 실패", e);
+        }
+    }
+}
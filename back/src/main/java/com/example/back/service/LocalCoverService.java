@@ -0,0 +1,170 @@
+package com.example.back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 서버 로컬 디스크에 저장된 표지 이미지 제공 (/api/books/cover/{bookId})
+ *
+ * <대상>
+ * - 로컬 디스크 저장소(LocalCoverStorage)에 저장된 내용 주소 표지
+ * - 이전 방식 표지 파일 {app.covers.local.dir}/{bookId}.png
+ *
+ * <동작 개요>
+ * - 파일 메타데이터(크기, 수정 시각, 형식, ETag)를 짧은 TTL 로 캐시해 자주 요청되는 표지는 매번 파일 stat 을 하지 않는다.
+ * - Content-Type 은 확장자 대신 파일 앞부분 매직 바이트로 판별한다. (메타데이터 로딩 시 한 번)
+ * - 본문은 Tomcat sendfile(커널 zero-copy) 로 보내고, sendfile 을 쓸 수 없는 컨테이너면 FileChannel.transferTo 로 보낸다.
+ */
+@Slf4j
+@Service
+public class LocalCoverService {
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals 의 SENDFILE_* 상수와 동일)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_NAME = "localCoverMetadata";
+
+    /**
+     * 표지 파일 메타데이터
+     *  - etag         : 크기 + 수정 시각 기반 (따옴표 포함)
+     *  - lastModified : epoch millis
+     */
+    public record LocalCover(Path path, long size, long lastModified, String contentType, String etag) {}
+
+    private final Path baseDir;
+    private final long maxAgeSeconds;
+    private final Cache<Path, Optional<LocalCover>> metadata;
+
+    public LocalCoverService(
+            @Value("${app.covers.local.dir:./back/uploads/bookcovers/}") String dir,
+            @Value("${app.covers.local.max-age-seconds:86400}") long maxAgeSeconds,
+            @Value("${app.covers.local.metadata-ttl-ms:10000}") long metadataTtlMs,
+            @Value("${app.covers.local.metadata-max-size:10000}") long metadataMaxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.baseDir = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.metadata = Caffeine.newBuilder()
+                .maximumSize(metadataMaxSize)
+                .expireAfterWrite(Duration.ofMillis(metadataTtlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, metadata, CACHE_NAME);
+    }
+
+    // 파일이 없으면 empty (없는 파일도 TTL 동안 캐시 → 반복 404 요청도 stat 하지 않음)
+    public Optional<LocalCover> find(Path path) {
+        return metadata.get(path.toAbsolutePath().normalize(), this::load);
+    }
+
+    // 이전 방식 경로 규칙: {app.covers.local.dir}/{bookId}.png (확장자와 무관하게 실제 형식은 매직 바이트로 판별)
+    public Optional<LocalCover> findLegacy(Long bookId) {
+        return find(baseDir.resolve(bookId + ".png"));
+    }
+
+    /**
+     * [start, end] 구간(양끝 포함)을 응답으로 전송
+     * - partial 이면 206 + Content-Range, 아니면 200 (ETag / Last-Modified 는 컨트롤러의 조건부 요청 처리에서 설정됨)
+     * - immutable 이 아니면(파일이 교체될 수 있는 URL) max-age 만 부여하고 ETag 로 재검증되게 한다.
+     * - HEAD 요청이면 헤더만 설정한다.
+     */
+    public void write(LocalCover cover, long start, long end, boolean partial, boolean immutable,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK);
+        if (partial) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + cover.size());
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable
+                ? "public, max-age=31536000, immutable"
+                : "public, max-age=" + maxAgeSeconds);
+        response.setContentType(cover.contentType());
+        response.setContentLengthLong(end - start + 1);
+
+        if ("HEAD".equals(request.getMethod()) || end < start) {
+            return;
+        }
+
+        // 1) Tomcat NIO 커넥터: 응답 본문을 쓰지 않고 파일 구간만 넘기면 커넥터가 sendfile 로 전송
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, cover.path().toString());
+            request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_FILE_END_ATTR, end + 1);   // end 는 exclusive
+            return;
+        }
+
+        // 2) 그 외 컨테이너: FileChannel.transferTo 로 응답 스트림에 복사
+        try (FileChannel channel = FileChannel.open(cover.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        } catch (NoSuchFileException e) {
+            // 캐시된 메타데이터 이후 파일이 지워진 경우 → 다음 요청은 다시 확인
+            metadata.invalidate(cover.path());
+            throw e;
+        }
+    }
+
+    private Optional<LocalCover> load(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return Optional.empty();
+            }
+
+            long size = attrs.size();
+            long lastModified = attrs.lastModifiedTime().toMillis();
+            String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+            return Optional.of(new LocalCover(path, size, lastModified, sniff(path), etag));
+
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("표지 파일 메타데이터 조회 실패: path={}, err={}", path, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private static String sniff(Path path) throws IOException {
+        byte[] head = new byte[12];
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(head, 0, head.length);
+        }
+        String contentType = BookCoverStorageService.sniffContentType(head, length);
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+}
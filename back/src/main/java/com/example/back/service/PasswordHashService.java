@@ -0,0 +1,116 @@
+package com.example.back.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해시/검증 서비스
+ *
+ * <동작 개요>
+ * - BCrypt 연산을 passwordHashExecutor(코어 일부만 쓰는 전용 풀)에서 실행하고 요청 스레드는 결과만 기다린다.
+ *   → 로그인/회원가입이 몰려도 CPU 를 전부 차지하지 않아 도서 조회 API 는 계속 응답한다.
+ * - 대기열이 가득 차거나 hash-timeout-ms 안에 끝나지 않으면 기다리지 않고 503 으로 응답한다.
+ * - 호출 측은 DB 트랜잭션 밖에서 호출한다. (해시를 기다리는 동안 커넥션을 잡고 있지 않도록)
+ * - 대기 시간은 password.hash.queue.wait, 연산 시간은 password.hash.duration(operation) 타이머,
+ *   거절 건수는 password.hash.rejected 로 노출된다.
+ */
+@Slf4j
+@Service
+public class PasswordHashService {
+
+    private static final String BUSY_MESSAGE = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final Timer queueWait;
+    private final Timer encodeDuration;
+    private final Timer matchesDuration;
+    private final Counter rejected;
+    private final long timeoutMs;
+
+    public PasswordHashService(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.password.hash-timeout-ms:5000}") long timeoutMs
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.timeoutMs = timeoutMs;
+        this.queueWait = Timer.builder("password.hash.queue.wait").register(meterRegistry);
+        this.encodeDuration = Timer.builder("password.hash.duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesDuration = Timer.builder("password.hash.duration").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+
+        Gauge.builder("password.hash.queue", passwordHashExecutor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", passwordHashExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute("encode", encodeDuration, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute("matches", matchesDuration, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시의 cost 가 설정값보다 낮은지 (해시 연산 없이 문자열만 확인)
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(String operation, Timer duration, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("비밀번호 해시 대기열 초과 → 503: operation={}", operation);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("비밀번호 해시 대기 시간 초과 → 503: operation={}, timeoutMs={}", operation, timeoutMs);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("비밀번호 처리 중 오류가 발생했습니다.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("비밀번호 처리 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.back.service;
+
+import com.example.back.entity.StorageOutboxEvent;
+import com.example.back.repository.CoverObjectRepository;
+import com.example.back.repository.StorageOutboxRepository;
+import com.example.back.storage.CoverStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 표지 저장소 부수 효과(객체 삭제) outbox
+ *
+ * <동작 개요>
+ * - 도서 삭제 / 표지 교체로 지워야 할 저장소 key 는 storage_outbox 테이블에 호출 측 트랜잭션과 함께 INSERT 한다.
+ *   (롤백되면 삭제 요청도 같이 사라지고, 커밋 직후 서버가 내려가도 요청은 테이블에 남는다)
+ * - drain() 이 주기적으로 처리할 이벤트를 한 번에 최대 batch-size 개까지 선점(RUNNING)하고
+ *   CoverStorage.deleteAll 로 묶어서 삭제한다. (S3 는 DeleteObjects 1회 = 최대 1000개)
+ * - 같은 이미지가 다시 업로드되면 CoverObjectService.register 가 같은 트랜잭션에서 cancelDeletes 로
+ *   그 key 의 대기 중 삭제 요청을 취소하고, 이미 삭제 처리 중(RUNNING)이면 등록을 거절한다. (→ 표지 작업이 나중에 다시 업로드)
+ *   drain 쪽에서도 삭제 직전 cover_objects 에 다시 등록된 key 는 지우지 않는다.
+ * - 성공한 이벤트는 행을 지우고, 실패한 key 만 지수 backoff 로 재시도, 최대 횟수를 넘으면 FAILED 로 남긴다.
+ */
+@Slf4j
+@Service
+public class StorageOutboxService {
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    private final StorageOutboxRepository storageOutboxRepository;
+    private final CoverObjectRepository coverObjectRepository;
+    private final CoverStorage coverStorage;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long staleAfterMs;
+    private final long deleteTimeoutMs;
+
+    // drain() 중복 실행 방지
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    public StorageOutboxService(
+            StorageOutboxRepository storageOutboxRepository,
+            CoverObjectRepository coverObjectRepository,
+            CoverStorage coverStorage,
+            @Value("${app.storage-outbox.batch-size:1000}") int batchSize,
+            @Value("${app.storage-outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.storage-outbox.backoff-base-ms:5000}") long backoffBaseMs,
+            @Value("${app.storage-outbox.backoff-max-ms:3600000}") long backoffMaxMs,
+            @Value("${app.storage-outbox.stale-after-ms:300000}") long staleAfterMs,
+            @Value("${app.storage-outbox.delete-timeout-ms:60000}") long deleteTimeoutMs
+    ) {
+        this.storageOutboxRepository = storageOutboxRepository;
+        this.coverObjectRepository = coverObjectRepository;
+        this.coverStorage = coverStorage;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.staleAfterMs = staleAfterMs;
+        this.deleteTimeoutMs = deleteTimeoutMs;
+    }
+
+    // 저장소 객체 삭제 예약 (호출 측 트랜잭션에 함께 저장 → 도서/참조 변경과 같이 커밋/롤백)
+    public void enqueueDeletes(Collection<String> keys) {
+        List<StorageOutboxEvent> events = keys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(key -> new StorageOutboxEvent(StorageOutboxEvent.Type.DELETE_OBJECT, key))
+                .toList();
+        if (!events.isEmpty()) {
+            storageOutboxRepository.saveAll(events);
+        }
+    }
+
+    /**
+     * 다시 업로드한 객체 key 의 삭제 요청 정리 (CoverObjectService.register 트랜잭션 안에서 호출)
+     * - 처리 전(PENDING / FAILED) 요청은 취소
+     * - 이미 선점되어 삭제 중인 요청이 있으면 false → 방금 올린 객체가 곧 지워질 수 있으므로 호출 측은 등록하지 않고 실패 처리
+     */
+    @Transactional
+    public boolean cancelDeletes(Collection<String> keys) {
+        List<String> distinct = keys.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return true;
+        }
+
+        int cancelled = storageOutboxRepository.deleteNotRunningByKeys(distinct);
+        if (cancelled > 0) {
+            log.info("다시 등록된 표지 객체 삭제 요청 취소: {}건", cancelled);
+        }
+        return storageOutboxRepository.findRunningByKeys(distinct).isEmpty();
+    }
+
+    // 처리할 차례가 된 삭제 요청을 배치로 선점해서 처리 (가득 찬 배치였다면 이어서 다음 배치)
+    @Scheduled(
+            initialDelayString = "${app.storage-outbox.poll-ms:1000}",
+            fixedDelayString = "${app.storage-outbox.poll-ms:1000}"
+    )
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int recovered = storageOutboxRepository.requeueStale(now.minus(Duration.ofMillis(staleAfterMs)), now);
+            if (recovered > 0) {
+                log.warn("처리 중 중단된 저장소 삭제 요청 복구: {}건", recovered);
+            }
+
+            while (drainBatch() >= batchSize) {
+                // 밀린 요청이 남아 있으면 다음 주기를 기다리지 않고 계속 처리
+            }
+        } catch (Exception e) {
+            log.error("저장소 삭제 요청 처리 중 오류: {}", e.toString());
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    // 배치 1회 처리, 조회된 이벤트 수 반환
+    private int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = storageOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        String token = UUID.randomUUID().toString();
+        if (storageOutboxRepository.claim(dueIds, token, now) == 0) {
+            return dueIds.size();
+        }
+        List<StorageOutboxEvent> events = storageOutboxRepository.findByClaimToken(token);
+
+        List<String> keys = events.stream().map(StorageOutboxEvent::getObjectKey).distinct().toList();
+        Set<String> failedKeys;
+        String error;
+        try {
+            Set<String> referenced = referencedKeys(keys);
+            List<String> deletable = keys.stream().filter(key -> !referenced.contains(key)).toList();
+            failedKeys = deletable.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(coverStorage.deleteAll(deletable).get(deleteTimeoutMs, TimeUnit.MILLISECONDS));
+            error = "저장소 삭제 실패";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedKeys = new HashSet<>(keys);
+            error = e.toString();
+        } catch (Exception e) {
+            failedKeys = new HashSet<>(keys);
+            error = e.toString();
+        }
+
+        List<Long> doneIds = new ArrayList<>(events.size());
+        List<StorageOutboxEvent> retry = new ArrayList<>();
+        for (StorageOutboxEvent event : events) {
+            if (failedKeys.contains(event.getObjectKey())) {
+                reschedule(event, error);
+                retry.add(event);
+            } else {
+                doneIds.add(event.getId());
+            }
+        }
+
+        if (!doneIds.isEmpty()) {
+            storageOutboxRepository.deleteAllByIdInBatch(doneIds);
+        }
+        if (!retry.isEmpty()) {
+            storageOutboxRepository.saveAll(retry);
+            log.warn("저장소 객체 삭제 실패 → 재시도 예약: {}건, err={}", retry.size(), error);
+        }
+        log.info("저장소 객체 삭제 처리: 성공={}건, 실패={}건", doneIds.size(), retry.size());
+        return dueIds.size();
+    }
+
+    private Set<String> referencedKeys(List<String> keys) {
+        Set<String> referenced = coverObjectRepository.findByAnyKeyIn(keys).stream()
+                .flatMap(o -> Stream.of(o.getOriginalKey(), o.getDetailKey(), o.getThumbnailKey()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!referenced.isEmpty()) {
+            log.info("다시 등록된 표지 객체 삭제 생략: {}건", keys.stream().filter(referenced::contains).count());
+        }
+        return referenced;
+    }
+
+    // 실패 처리: 재시도 가능하면 backoff 후 PENDING, 아니면 FAILED
+    private void reschedule(StorageOutboxEvent event, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setClaimToken(null);
+        event.setLastError(error != null && error.length() > LAST_ERROR_MAX_LENGTH
+                ? error.substring(0, LAST_ERROR_MAX_LENGTH)
+                : error);
+        event.setUpdatedAt(now);
+
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(StorageOutboxEvent.Status.FAILED);
+            log.warn("저장소 객체 삭제 최종 실패: key={}, attempts={}", event.getObjectKey(), event.getAttempts());
+            return;
+        }
+
+        long delayMs = Math.min(backoffMaxMs, backoffBaseMs << Math.min(event.getAttempts() - 1, 20));
+        event.setStatus(StorageOutboxEvent.Status.PENDING);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(delayMs)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.back.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 표지 이미지 저장소
+ *
+ * <구현>
+ * - S3CoverStorage    : S3 버킷 (app.covers.storage: s3, 기본값)
+ * - LocalCoverStorage : 서버 로컬 디스크 (app.covers.storage: local)
+ *
+ * key 는 저장소와 무관한 상대 경로 (예: bookcovers/{hash}.jpg)
+ */
+public interface CoverStorage {
+
+    CompletableFuture<Void> put(String key, Path file, String contentType, String cacheControl);
+
+    CompletableFuture<Void> put(String key, byte[] bytes, String contentType, String cacheControl);
+
+    // 객체 전체 조회 (없으면 null 로 완료)
+    CompletableFuture<byte[]> read(String key);
+
+    // 객체를 스트림으로 조회 (없으면 null 로 완료, 큰 객체를 힙에 올리지 않고 그대로 전송할 때 사용)
+    // 기본 구현은 read() 결과를 감싸기만 하므로 구현체에서 재정의
+    default CompletableFuture<ObjectStream> open(String key) {
+        return read(key).thenApply(bytes -> bytes == null ? null : ObjectStream.of(bytes));
+    }
+
+    CompletableFuture<Void> delete(String key);
+
+    // 여러 객체 삭제, 실패한 key 목록으로 완료 (기본 구현은 key 별 delete 를 동시에 요청)
+    default CompletableFuture<List<String>> deleteAll(List<String> keys) {
+        List<CompletableFuture<String>> results = keys.stream()
+                .map(key -> delete(key).handle((res, err) -> err == null ? null : key))
+                .toList();
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(v -> results.stream()
+                        .map(CompletableFuture::join)
+                        .filter(key -> key != null)
+                        .toList());
+    }
+
+    CompletableFuture<Boolean> exists(String key);
+
+    // 브라우저가 직접 받을 수 있는 URL (없으면 empty → 앱의 /api/books/cover/{bookId} 로 제공)
+    Optional<String> url(String key);
+
+    // url() 로 만든 URL → key (이 저장소의 URL 이 아니면 empty)
+    Optional<String> keyOf(String url);
+
+    // 로컬 파일로 저장된 경우 그 경로 (sendfile 로 바로 전송 가능)
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    // open() 결과 (length: 객체 전체 바이트 수, 다 읽었거나 읽지 않기로 했으면 반드시 close)
+    record ObjectStream(long length, InputStream body) implements Closeable {
+
+        public static ObjectStream of(byte[] bytes) {
+            return new ObjectStream(bytes.length, new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.back.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 서버 로컬 디스크 표지 저장소 (app.covers.storage: local)
+ *
+ * <동작 개요>
+ * - {app.covers.local.root}/{key} 경로에 저장한다. (같은 디렉터리의 임시 파일에 쓴 뒤 rename → 읽는 쪽은 완성된 파일만 봄)
+ * - 브라우저용 URL 이 따로 없으므로 표지는 /api/books/cover/{bookId} 가 sendfile 로 전송한다.
+ * - 디스크 I/O 는 호출 스레드에서 바로 수행하고 완료된 future 를 반환한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.covers.storage", havingValue = "local")
+public class LocalCoverStorage implements CoverStorage {
+
+    private final Path root;
+
+    public LocalCoverStorage(@Value("${app.covers.local.root:./back/uploads/}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        log.info("표지 저장소: 로컬 디스크 root={}", this.root);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, Path file, String contentType, String cacheControl) {
+        try {
+            Path target = resolve(key);
+            Path temp = tempFor(target);
+            try {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] bytes, String contentType, String cacheControl) {
+        try {
+            Path target = resolve(key);
+            Path temp = tempFor(target);
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+        try {
+            return CompletableFuture.completedFuture(Files.readAllBytes(resolve(key)));
+        } catch (NoSuchFileException e) {
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 채널을 먼저 열고 크기를 읽음 (그 사이 rename 으로 파일이 바뀌어도 연 파일 기준으로 일관됨)
+    @Override
+    public CompletableFuture<ObjectStream> open(String key) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(key));
+            try {
+                return CompletableFuture.completedFuture(new ObjectStream(channel.size(), Channels.newInputStream(channel)));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (NoSuchFileException e) {
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String key) {
+        try {
+            return CompletableFuture.completedFuture(Files.isRegularFile(resolve(key)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Optional<String> url(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    // key → root 하위 경로 (../ 등으로 root 밖을 가리키면 거부)
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 표지 key 입니다: " + key);
+        }
+        return path;
+    }
+
+    private static Path tempFor(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        return Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.back.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Component
+@ConditionalOnProperty(name = "app.covers.storage", havingValue = "s3", matchIfMissing = true)
+public class S3CoverStorage implements CoverStorage {
+
+    // DeleteObjects 요청당 최대 key 수 (S3 제한)
+    private static final int DELETE_BATCH_LIMIT = 1000;
+
+    private final S3ObjectStore s3ObjectStore;
+
+    @Value("${app.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.s3.region:ap-southeast-1}")
+    private String region;
+
+    // 공개 URL 앞부분 (로컬 S3 호환 서버 사용 시 그 주소로 지정, 비어 있으면 AWS 기본 형식)
+    @Value("${app.s3.public-base-url:}")
+    private String publicBaseUrl;
+
+    public S3CoverStorage(S3ObjectStore s3ObjectStore) {
+        this.s3ObjectStore = s3ObjectStore;
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, Path file, String contentType, String cacheControl) {
+        return s3ObjectStore.putFile(key, file, contentType, cacheControl).thenApply(res -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] bytes, String contentType, String cacheControl) {
+        return s3ObjectStore.putBytes(key, bytes, contentType, cacheControl).thenApply(res -> null);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> read(String key) {
+        return s3ObjectStore.getBytes(key)
+                .thenApply(res -> res.asByteArray())
+                .exceptionally(err -> {
+                    if (unwrap(err) instanceof NoSuchKeyException) {
+                        return null;
+                    }
+                    throw err instanceof CompletionException ce ? ce : new CompletionException(err);
+                });
+    }
+
+    @Override
+    public CompletableFuture<ObjectStream> open(String key) {
+        return s3ObjectStore.getStream(key)
+                .thenApply(res -> new ObjectStream(res.response().contentLength(), res))
+                .exceptionally(err -> {
+                    if (unwrap(err) instanceof NoSuchKeyException) {
+                        return null;
+                    }
+                    throw err instanceof CompletionException ce ? ce : new CompletionException(err);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return s3ObjectStore.delete(key).thenApply(res -> null);
+    }
+
+    // 1000개씩 DeleteObjects 로 묶어 삭제 (없는 key 는 S3 가 성공으로 처리)
+    @Override
+    public CompletableFuture<List<String>> deleteAll(List<String> keys) {
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += DELETE_BATCH_LIMIT) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + DELETE_BATCH_LIMIT));
+            chunks.add(s3ObjectStore.deleteObjects(chunk).handle((res, err) -> {
+                if (err != null) {
+                    return chunk;
+                }
+                return res.errors().stream().map(e -> e.key()).toList();
+            }));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(v -> chunks.stream()
+                        .flatMap(chunk -> chunk.join().stream())
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(String key) {
+        return s3ObjectStore.exists(key);
+    }
+
+    @Override
+    public Optional<String> url(String key) {
+        return Optional.of(baseUrl() + key);
+    }
+
+    @Override
+    public Optional<String> keyOf(String url) {
+        // 설정된 공개 URL 형식 + 이전 방식(https://{bucket}.s3.{region}.amazonaws.com/) 모두 인식
+        for (String base : new String[]{baseUrl(), "https://" + bucket + ".s3." + region + ".amazonaws.com/"}) {
+            if (url != null && url.startsWith(base) && url.length() > base.length()) {
+                return Optional.of(url.substring(base.length()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String baseUrl() {
+        if (StringUtils.hasText(publicBaseUrl)) {
+            return publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+        }
+        return "https://" + bucket + ".s3." + region + ".amazonaws.com/";
+    }
+
+    private static Throwable unwrap(Throwable err) {
+        return err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.back.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * S3 비동기 저장소 (S3AsyncClient 래퍼)
+ *
+ * <동작 개요>
+ * - 업로드/조회/삭제를 CompletableFuture 로 반환해 호출 스레드가 S3 응답을 기다리지 않는다.
+ * - 동시에 진행 중인 요청 수를 app.s3.async.max-in-flight 로 제한한다.
+ *   한도에 걸린 요청은 호출 스레드를 막지 않고 대기열(max-queued)에 넣어 두었다가 앞 요청이 끝나면 이어서 시작하며,
+ *   permit-timeout-ms 안에 시작하지 못했거나 대기열도 가득 차 있으면 실패한 future 를 반환한다.
+ *   (표지 프록시처럼 요청 스레드에서 호출해도 S3 가 밀릴 때 서블릿 스레드가 묶이지 않도록)
+ * - 작업별 소요 시간은 s3.client.requests(operation, outcome) 타이머,
+ *   진행 중 요청 수는 s3.client.in-flight 게이지로 노출된다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.covers.storage", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStore {
+
+    private final S3AsyncClient s3AsyncClient;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final int maxQueued;
+    private final Executor queueTimeout;
+
+    // 한도에 걸려 시작을 기다리는 요청 (앞 요청이 끝날 때 이어서 시작)
+    private final ConcurrentLinkedQueue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    @Value("${app.s3.bucket}")
+    private String bucket;
+
+    public S3ObjectStore(
+            S3AsyncClient s3AsyncClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.s3.async.max-in-flight:64}") int maxInFlight,
+            @Value("${app.s3.async.max-queued:256}") int maxQueued,
+            @Value("${app.s3.async.permit-timeout-ms:10000}") long permitTimeoutMs
+    ) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxQueued = maxQueued;
+        this.queueTimeout = CompletableFuture.delayedExecutor(permitTimeoutMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("s3.client.in-flight", inFlight, s -> maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("s3.client.queued", waitingCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // 파일 업로드 (part 크기를 넘으면 SDK 가 multipart 로 나눠 전송)
+    public CompletableFuture<PutObjectResponse> putFile(String key, Path file, String contentType, String cacheControl) {
+        return execute("put", () -> s3AsyncClient.putObject(
+                putRequest(key, contentType, cacheControl),
+                AsyncRequestBody.fromFile(file)));
+    }
+
+    // 메모리에 있는 작은 객체(변형 이미지 등) 업로드
+    public CompletableFuture<PutObjectResponse> putBytes(String key, byte[] bytes, String contentType, String cacheControl) {
+        return execute("put", () -> s3AsyncClient.putObject(
+                putRequest(key, contentType, cacheControl),
+                AsyncRequestBody.fromBytes(bytes)));
+    }
+
+    // 객체 전체를 메모리로 조회 (표지처럼 크기 상한이 있는 객체 전용)
+    public CompletableFuture<ResponseBytes<GetObjectResponse>> getBytes(String key) {
+        return execute("get", () -> s3AsyncClient.getObject(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build(),
+                AsyncResponseTransformer.toBytes()));
+    }
+
+    // 객체를 스트림으로 조회 (응답 헤더가 오면 완료, 본문은 읽는 쪽 속도에 맞춰 받음)
+    // 동시 요청 한도는 헤더 수신까지만 잡으므로 본문 전송 시간 동안 다른 요청을 막지 않음
+    public CompletableFuture<ResponseInputStream<GetObjectResponse>> getStream(String key) {
+        return execute("get-stream", () -> s3AsyncClient.getObject(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build(),
+                AsyncResponseTransformer.toBlockingInputStream()));
+    }
+
+    // HEAD 요청으로 존재 여부 확인 (404 면 false)
+    public CompletableFuture<Boolean> exists(String key) {
+        return execute("head", () -> s3AsyncClient.headObject(HeadObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build()))
+                .handle((res, err) -> {
+                    if (err == null) {
+                        return true;
+                    }
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    if (cause instanceof NoSuchKeyException) {
+                        return false;
+                    }
+                    throw err instanceof CompletionException ce ? ce : new CompletionException(err);
+                });
+    }
+
+    public CompletableFuture<DeleteObjectResponse> delete(String key) {
+        return execute("delete", () -> s3AsyncClient.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build()));
+    }
+
+    // DeleteObjects 한 번으로 여러 객체 삭제 (S3 제한: 요청당 최대 1000개, quiet 모드라 응답에는 실패한 key 만 포함)
+    public CompletableFuture<DeleteObjectsResponse> deleteObjects(List<String> keys) {
+        return execute("delete-batch", () -> s3AsyncClient.deleteObjects(DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(d -> d
+                        .quiet(true)
+                        .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList()))
+                .build()));
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType, String cacheControl) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    // 동시 요청 한도 확보 → 요청 시작 → 완료 시 한도 반환 + 소요 시간 기록 (한도 초과 시 대기열에 넣고 바로 반환)
+    private <T> CompletableFuture<T> execute(String operation, Supplier<CompletableFuture<T>> call) {
+        if (inFlight.tryAcquire()) {
+            return start(operation, call);
+        }
+
+        if (waitingCount.incrementAndGet() > maxQueued) {
+            waitingCount.decrementAndGet();
+            return reject(operation);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // 대기열에서 시작되거나 대기 시간이 지나 실패하거나, 둘 중 먼저 일어난 쪽만 처리
+        AtomicBoolean claimed = new AtomicBoolean(false);
+
+        Runnable task = () -> {
+            // permit 을 넘겨받은 상태로 호출됨
+            if (!claimed.compareAndSet(false, true)) {
+                inFlight.release();
+                return;
+            }
+            waitingCount.decrementAndGet();
+            start(operation, call).whenComplete((res, err) -> {
+                if (err != null) {
+                    result.completeExceptionally(err);
+                } else {
+                    result.complete(res);
+                }
+            });
+        };
+        waiting.add(task);
+        queueTimeout.execute(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                waiting.remove(task);
+                waitingCount.decrementAndGet();
+                meterRegistry.counter("s3.client.rejected", "operation", operation).increment();
+                result.completeExceptionally(
+                        new RejectedExecutionException("S3 동시 요청 한도 초과(대기 시간 초과): operation=" + operation));
+            }
+        });
+
+        // 대기열에 넣는 사이 한도가 반환됐을 수 있으므로 한 번 더 확인
+        drainWaiting();
+        return result;
+    }
+
+    // permit 을 얻은 상태에서 요청 시작
+    private <T> CompletableFuture<T> start(String operation, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((res, err) -> {
+            inFlight.release();
+            sample.stop(Timer.builder("s3.client.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", err == null ? "success" : "error")
+                    .register(meterRegistry));
+            drainWaiting();
+        });
+    }
+
+    // 남은 한도만큼 대기 중인 요청 시작
+    private void drainWaiting() {
+        while (!waiting.isEmpty() && inFlight.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight.release();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private <T> CompletableFuture<T> reject(String operation) {
+        meterRegistry.counter("s3.client.rejected", "operation", operation).increment();
+        return CompletableFuture.failedFuture(
+                new RejectedExecutionException("S3 동시 요청 한도 초과: operation=" + operation));
+    }
+}
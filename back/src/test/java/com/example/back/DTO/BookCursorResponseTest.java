@@ -0,0 +1,82 @@
+package com.example.back.DTO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class BookCursorResponseTest {
+
+    @Test
+    void cursorRoundTrips() {
+        for (long bookId : new long[] {1L, 42L, Long.MAX_VALUE}) {
+            String cursor = BookCursorResponse.encodeCursor(bookId);
+
+            assertFalse(cursor.contains("="), cursor);
+            assertEquals(bookId, BookCursorResponse.decodeCursor(cursor));
+            assertEquals(bookId, BookCursorResponse.decodeCursor("  " + cursor + " "));
+        }
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(BookCursorResponse.decodeCursor(null));
+        assertNull(BookCursorResponse.decodeCursor(""));
+        assertNull(BookCursorResponse.decodeCursor("   "));
+    }
+
+    @Test
+    void invalidCursorIsRejectedAsIllegalArgument() {
+        String[] invalid = {
+                "not base64!",
+                encode("42"),      // prefix 없음
+                encode("x:42"),    // 다른 prefix
+                encode("b:"),      // 숫자 없음
+                encode("b:abc"),
+        };
+
+        for (String cursor : invalid) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> BookCursorResponse.decodeCursor(cursor));
+            assertEquals("커서 정보가 올바르지 않습니다.", e.getMessage());
+        }
+    }
+
+    @Test
+    void fromTrimsExtraRowAndPointsCursorAtLastBook() {
+        List<BookSummary> rows = summaries(10, 9, 8, 7);
+
+        BookCursorResponse response = BookCursorResponse.from(rows, 3);
+
+        assertTrue(response.isHasNext());
+        assertEquals(3, response.getBooks().size());
+        assertEquals(8L, BookCursorResponse.decodeCursor(response.getNextCursor()));
+    }
+
+    @Test
+    void fromLastPageHasNoCursor() {
+        BookCursorResponse response = BookCursorResponse.from(summaries(3, 2, 1), 3);
+
+        assertFalse(response.isHasNext());
+        assertEquals(3, response.getBooks().size());
+        assertNull(response.getNextCursor());
+    }
+
+    private static List<BookSummary> summaries(long... bookIds) {
+        return LongStream.of(bookIds)
+                .mapToObj(id -> new BookSummary(id, "도서 " + id, "소설", null, null, null, null))
+                .toList();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
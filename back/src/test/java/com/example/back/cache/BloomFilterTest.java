@@ -0,0 +1,56 @@
+package com.example.back.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value), value);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        int expected = 20_000;
+        double target = 0.01;
+        BloomFilter filter = new BloomFilter(expected, target);
+        for (int i = 0; i < expected; i++) {
+            filter.put("jti-" + i);
+        }
+
+        int trials = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < trials; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // 예상 건수만큼 채웠을 때 목표 오탐률의 2배를 넘지 않아야 함 (해시 분포가 치우치면 크게 넘어감)
+        double rate = (double) falsePositives / trials;
+        assertTrue(rate < target * 2, "false positive rate: " + rate);
+    }
+}
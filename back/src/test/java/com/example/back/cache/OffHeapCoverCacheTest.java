@@ -0,0 +1,157 @@
+package com.example.back.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapCoverCacheTest {
+
+    private static final int BLOCK = 16;
+
+    @Test
+    void multiBlockEntryRoundTrips() throws IOException {
+        OffHeapCoverCache cache = new OffHeapCoverCache(BLOCK * 16, BLOCK, BLOCK * 16);
+        byte[] bytes = content("a", BLOCK * 3 + 5);
+
+        assertTrue(cache.put("a", "image/jpeg", bytes));
+
+        try (OffHeapCoverCache.Handle handle = cache.get("a")) {
+            assertNotNull(handle);
+            assertEquals(bytes.length, handle.length());
+            assertEquals("image/jpeg", handle.contentType());
+            assertArrayEquals(bytes, read(handle));
+        }
+        assertEquals(bytes.length, cache.usedBytes());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedEntries() {
+        OffHeapCoverCache cache = new OffHeapCoverCache(BLOCK * 4, BLOCK, BLOCK * 2);
+
+        assertFalse(cache.put("empty", "image/jpeg", new byte[0]));
+        assertFalse(cache.put("big", "image/jpeg", content("big", BLOCK * 2 + 1)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        OffHeapCoverCache cache = new OffHeapCoverCache(BLOCK * 4, BLOCK, BLOCK * 4);
+        cache.put("a", "image/jpeg", content("a", BLOCK * 2));
+        cache.put("b", "image/jpeg", content("b", BLOCK * 2));
+
+        // a 를 최근 조회로 만들어 두면 b 가 먼저 나감
+        cache.get("a").close();
+        assertTrue(cache.put("c", "image/jpeg", content("c", BLOCK * 2)));
+
+        assertNull(cache.get("b"));
+        try (OffHeapCoverCache.Handle a = cache.get("a"); OffHeapCoverCache.Handle c = cache.get("c")) {
+            assertNotNull(a);
+            assertNotNull(c);
+        }
+    }
+
+    @Test
+    void pinnedEntryBlocksAreNotReusedUntilClosed() throws IOException {
+        OffHeapCoverCache cache = new OffHeapCoverCache(BLOCK * 2, BLOCK, BLOCK * 2);
+        byte[] a = content("a", BLOCK * 2);
+        cache.put("a", "image/jpeg", a);
+
+        OffHeapCoverCache.Handle handle = cache.get("a");
+
+        // a 는 내보내지지만 전송 중이라 블록이 반환되지 않으므로 b 를 넣을 공간이 없음
+        assertFalse(cache.put("b", "image/jpeg", content("b", BLOCK * 2)));
+        assertNull(cache.get("a"));
+        assertArrayEquals(a, read(handle));
+
+        handle.close();
+        handle.close(); // 두 번 닫아도 블록이 두 번 반환되지 않아야 함
+
+        byte[] b = content("b", BLOCK * 2);
+        assertTrue(cache.put("b", "image/jpeg", b));
+        try (OffHeapCoverCache.Handle hb = cache.get("b")) {
+            assertArrayEquals(b, read(hb));
+        }
+        assertEquals(1, cache.size());
+        assertEquals(b.length, cache.usedBytes());
+    }
+
+    @Test
+    void concurrentGetPutInvalidateNeverServesOtherEntryBytes() throws Exception {
+        int keys = 40;
+        OffHeapCoverCache cache = new OffHeapCoverCache(BLOCK * 64, BLOCK, BLOCK * 64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        String key = "k" + random.nextInt(keys);
+                        int op = random.nextInt(10);
+                        if (op < 6) {
+                            try (OffHeapCoverCache.Handle handle = cache.get(key)) {
+                                if (handle != null) {
+                                    assertArrayEquals(content(key, lengthOf(key)), read(handle));
+                                }
+                            }
+                        } else if (op < 9) {
+                            cache.put(key, "image/jpeg", content(key, lengthOf(key)));
+                        } else {
+                            cache.invalidate(key);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(cache.usedBytes() <= cache.capacityBytes());
+
+        // 모든 블록이 반환됐다면 용량 전체를 쓰는 항목을 넣을 수 있어야 함
+        for (int i = 0; i < keys; i++) {
+            cache.invalidate("k" + i);
+        }
+        assertEquals(0, cache.usedBytes());
+        assertEquals(0, cache.size());
+        assertTrue(cache.put("full", "image/jpeg", content("full", BLOCK * 64)));
+    }
+
+    // key 마다 1~5 블록 크기 (블록 경계에 걸치도록 나머지를 둠)
+    private static int lengthOf(String key) {
+        return (Math.abs(key.hashCode()) % 5) * BLOCK + 7;
+    }
+
+    private static byte[] content(String key, int length) {
+        byte[] bytes = new byte[length];
+        new Random(key.hashCode()).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] read(OffHeapCoverCache.Handle handle) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handle.writeTo(Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
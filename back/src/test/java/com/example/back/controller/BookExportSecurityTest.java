@@ -0,0 +1,102 @@
+package com.example.back.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.back.config.SecurityConfig;
+import com.example.back.jwt.AuthPrincipal;
+import com.example.back.jwt.JwtUtil;
+import com.example.back.jwt.TokenRevocationService;
+import com.example.back.service.BookExportService;
+import com.example.back.service.BookService;
+import com.example.back.service.CoverObjectService;
+import com.example.back.service.CoverProxyService;
+import com.example.back.service.LocalCoverService;
+import com.example.back.storage.CoverStorage;
+
+import io.jsonwebtoken.Claims;
+
+// 내보내기는 StreamingResponseBody 라 본문을 다 쓴 뒤 ASYNC dispatch 로 보안 필터 체인을 다시 통과해야 함
+@WebMvcTest(BookController.class)
+@Import(SecurityConfig.class)
+class BookExportSecurityTest {
+
+    private static final String TOKEN = "test-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean private JwtUtil jwtUtil;
+    @MockitoBean private TokenRevocationService tokenRevocationService;
+    @MockitoBean private BookService bookService;
+    @MockitoBean private BookExportService bookExportService;
+    @MockitoBean private LocalCoverService localCoverService;
+    @MockitoBean private CoverProxyService coverProxyService;
+    @MockitoBean private CoverObjectService coverObjectService;
+    @MockitoBean private CoverStorage coverStorage;
+
+    @Test
+    void authenticatedExportSurvivesAsyncDispatch() throws Exception {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("user1");
+        when(claims.getId()).thenReturn("jti-1");
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims);
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"bookId\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(bookExportService).exportNdjson(isNull(), isNull(), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/api/books/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"bookId\":1}\n"));
+    }
+
+    @Test
+    void exportWithoutTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/api/books/export"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void revokedTokenIsRejectedBeforeStreaming() throws Exception {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("user1");
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims);
+        when(tokenRevocationService.isRevoked(eq(new AuthPrincipal("user1", null, 0L))))
+                .thenReturn(true);
+
+        mockMvc.perform(get("/api/books/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(status().isUnauthorized());
+    }
+}
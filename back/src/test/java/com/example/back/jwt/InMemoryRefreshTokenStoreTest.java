@@ -0,0 +1,59 @@
+package com.example.back.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    private static long past() {
+        return System.currentTimeMillis() - 60_000;
+    }
+
+    private static long future() {
+        return System.currentTimeMillis() + 60_000;
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredTokens() {
+        store.save("expired", "t1", past());
+        store.save("live", "t2", future());
+
+        assertEquals(1, store.purgeExpired());
+        assertFalse(store.find("expired").isPresent());
+        assertEquals("t2", store.find("live").orElseThrow().token());
+    }
+
+    @Test
+    void replacedTokenIsNotRemovedByItsOldExpiryEntry() {
+        store.save("user", "old", past());
+        store.save("user", "new", future());
+
+        // 이전 토큰의 만료 색인 항목은 현재 값과 달라 건너뜀
+        assertEquals(0, store.purgeExpired());
+        assertEquals("new", store.find("user").orElseThrow().token());
+    }
+
+    @Test
+    void deletedTokenExpiryEntryIsSkipped() {
+        store.save("user", "t1", past());
+        store.delete("user");
+
+        assertEquals(0, store.purgeExpired());
+        assertFalse(store.find("user").isPresent());
+    }
+
+    @Test
+    void repeatedSavesAreCountedOnce() {
+        store.save("user", "t1", past());
+        store.save("user", "t2", past());
+
+        assertEquals(1, store.purgeExpired());
+        assertEquals(0, store.purgeExpired());
+        assertTrue(store.find("user").isEmpty());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.back.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BookSearchIndexTest {
+
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    @Test
+    void normalizeFoldsWidthAndCase() {
+        assertEquals("abc 자바", BookSearchIndex.normalize("  ＡＢＣ 자바 "));
+        assertEquals("", BookSearchIndex.normalize(null));
+    }
+
+    @Test
+    void queryGramsAreBigramsOrSingleCharacters() {
+        assertIterableEquals(List.of("he", "el", "ll", "lo", "자바"), BookSearchIndex.grams("Hello, 자바!"));
+        assertIterableEquals(List.of("a", "b"), BookSearchIndex.grams("a b"));
+        assertTrue(BookSearchIndex.grams(" !? ").isEmpty());
+    }
+
+    @Test
+    void indexGramsIncludeUnigramsForSingleCharacterQueries() {
+        assertIterableEquals(List.of("자", "자바", "바"), BookSearchIndex.indexGrams("자바"));
+    }
+
+    @Test
+    void titleMatchOutranksDescriptionAndContent() {
+        index.index(doc(1L, 1L, "요리책", null, "자바 이야기"));
+        index.index(doc(2L, 1L, "요리책", "자바 입문서", null));
+        index.index(doc(3L, 1L, "자바의 정석", null, null));
+        index.index(doc(4L, 1L, "파이썬", null, null));
+
+        BookSearchIndex.Hits hits = index.search("자바", null, 0, 10);
+
+        assertEquals(3, hits.total());
+        assertIterableEquals(List.of(3L, 2L, 1L), hits.bookIds());
+    }
+
+    @Test
+    void phraseSplitAcrossFieldsDoesNotMatch() {
+        index.index(doc(1L, 1L, "자바", null, "스크립트"));
+        index.index(doc(2L, 1L, "자바스크립트 완벽 가이드", null, null));
+
+        assertIterableEquals(List.of(2L), index.search("자바스크립트", null, 0, 10).bookIds());
+    }
+
+    @Test
+    void categoryFilterAndPaging() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(doc(id, id % 2, "스프링 " + id, null, null));
+        }
+
+        BookSearchIndex.Hits odd = index.search("스프링", 1L, 0, 10);
+        assertEquals(3, odd.total());
+        assertIterableEquals(List.of(5L, 3L, 1L), odd.bookIds());
+
+        BookSearchIndex.Hits page = index.search("스프링", null, 1, 2);
+        assertEquals(5, page.total());
+        assertIterableEquals(List.of(4L, 3L), page.bookIds());
+    }
+
+    @Test
+    void reindexAndRemoveUpdatePostings() {
+        index.index(doc(1L, 1L, "자바", null, null));
+        index.index(doc(1L, 1L, "코틀린", null, null));
+
+        assertEquals(0, index.search("자바", null, 0, 10).total());
+        assertEquals(1, index.search("코틀린", null, 0, 10).total());
+
+        index.remove(1L);
+        assertEquals(0, index.search("코틀린", null, 0, 10).total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void searchBeforeWalksBackwardsFromCursor() {
+        for (long id = 1; id <= 6; id++) {
+            index.index(doc(id, 1L, id == 4 ? "파이썬" : "자바 " + id, null, null));
+        }
+
+        assertIterableEquals(List.of(6L, 5L), index.searchBefore("자바", null, Long.MAX_VALUE, 2));
+        assertIterableEquals(List.of(3L, 2L), index.searchBefore("자바", null, 5L, 2));
+        assertIterableEquals(List.of(3L, 2L, 1L), index.searchBefore("자바", null, 4L, 10));
+        assertTrue(index.searchBefore("자바", null, 1L, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildDoesNotOverwriteLiveUpdates() {
+        index.index(doc(1L, 1L, "새 제목", null, null));
+        index.remove(2L);
+
+        // 재구성이 읽어 온 이전 값은 건너뜀
+        assertFalse(index.indexFromRebuild(doc(1L, 1L, "옛 제목", null, null)));
+        assertFalse(index.indexFromRebuild(doc(2L, 1L, "삭제된 도서", null, null)));
+        assertTrue(index.indexFromRebuild(doc(3L, 1L, "다른 도서", null, null)));
+        index.markReady();
+
+        assertIterableEquals(List.of(1L), index.search("새 제목", null, 0, 10).bookIds());
+        assertEquals(0, index.search("옛 제목", null, 0, 10).total());
+        assertEquals(0, index.search("삭제된", null, 0, 10).total());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewerOne() {
+        assertTrue(index.index(new BookSearchDocument(1L, 1L, "새 제목", null, null, 3L)));
+
+        // 따라잡기가 커밋 콜백보다 먼저 읽은 이전 값
+        assertFalse(index.index(new BookSearchDocument(1L, 1L, "옛 제목", null, null, 2L)));
+        assertIterableEquals(List.of(1L), index.search("새 제목", null, 0, 10).bookIds());
+        assertEquals(0, index.search("옛 제목", null, 0, 10).total());
+
+        assertTrue(index.index(new BookSearchDocument(1L, 1L, "다음 제목", null, null, 4L)));
+        assertIterableEquals(List.of(1L), index.search("다음 제목", null, 0, 10).bookIds());
+    }
+
+    private static BookSearchDocument doc(Long bookId, Long categoryId, String title, String description, String content) {
+        return new BookSearchDocument(bookId, categoryId, title, description, content);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.back.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.back.service.CoverObjectService.ResolvedCover;
+import com.example.back.storage.CoverStorage;
+import com.example.back.storage.CoverStorage.ObjectStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoverProxyServiceTest {
+
+    private static final ResolvedCover COVER =
+            new ResolvedCover("bookcovers/abc.jpg", "image/jpeg", "\"abc\"", true);
+
+    private final CoverStorage coverStorage = mock(CoverStorage.class);
+
+    private CoverProxyService proxy() {
+        return new CoverProxyService(coverStorage, new SimpleMeterRegistry(),
+                CoverProxyService.MODE_PROXY, 1 << 20, 1024, 1 << 16, 5_000, 300);
+    }
+
+    @Test
+    void concurrentMissesReadStorageOnce() throws Exception {
+        CoverProxyService proxy = proxy();
+        byte[] bytes = new byte[3000];
+        CompletableFuture<ObjectStream> pending = new CompletableFuture<>();
+        when(coverStorage.open(COVER.key())).thenReturn(pending);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    assertTrue(proxy.write(COVER, new MockHttpServletRequest("GET", "/"), response));
+                    return response;
+                }));
+            }
+
+            // 첫 요청이 저장소 조회를 시작한 뒤 응답을 돌려줌 (나머지는 대기 중이거나 이후 캐시 hit)
+            verify(coverStorage, timeout(1_000)).open(COVER.key());
+            pending.complete(ObjectStream.of(bytes));
+
+            for (Future<MockHttpServletResponse> result : results) {
+                assertArrayEquals(bytes, result.get().getContentAsByteArray());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(coverStorage, times(1)).open(COVER.key());
+    }
+
+    @Test
+    void failedLoadIsNotSharedWithLaterRequests() throws Exception {
+        CoverProxyService proxy = proxy();
+        byte[] bytes = new byte[100];
+        when(coverStorage.open(COVER.key()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("S3 오류")))
+                .thenReturn(CompletableFuture.completedFuture(ObjectStream.of(bytes)));
+
+        assertThrows(RuntimeException.class, () ->
+                proxy.write(COVER, new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(proxy.write(COVER, new MockHttpServletRequest("GET", "/"), response));
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+        verify(coverStorage, times(2)).open(COVER.key());
+    }
+
+    @Test
+    void cachedCoverIsServedWithoutStorageRead() throws Exception {
+        CoverProxyService proxy = proxy();
+        byte[] bytes = new byte[2500];
+        when(coverStorage.open(COVER.key())).thenReturn(CompletableFuture.completedFuture(ObjectStream.of(bytes)));
+
+        proxy.write(COVER, new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        proxy.write(COVER, new MockHttpServletRequest("GET", "/"), response);
+
+        assertArrayEquals(bytes, response.getContentAsByteArray());
+        verify(coverStorage, times(1)).open(COVER.key());
+    }
+
+    @Test
+    void oversizedCoverIsStreamedWithoutCaching() throws Exception {
+        CoverProxyService proxy = proxy();
+        byte[] bytes = new byte[(1 << 16) + 1];
+        bytes[bytes.length - 1] = 7;
+        when(coverStorage.open(COVER.key()))
+                .thenAnswer(inv -> CompletableFuture.completedFuture(ObjectStream.of(bytes)));
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertTrue(proxy.write(COVER, new MockHttpServletRequest("GET", "/"), response));
+            assertArrayEquals(bytes, response.getContentAsByteArray());
+            assertEquals(bytes.length, response.getContentLengthLong());
+        }
+
+        // 캐시 항목 상한을 넘으므로 매 요청 저장소 스트림을 새로 엶
+        verify(coverStorage, times(2)).open(COVER.key());
+    }
+}
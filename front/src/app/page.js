@@ -115,7 +115,7 @@ export default function Home() {
               >
                 <div className="book-thumb">
                   <img
-                    src={book.imageUrl}
+                    src={book.thumbnailUrl || book.imageUrl}
                     alt={book.title || "제목 없음"}
                     className="book-image"
                     loading="lazy"
@@ -140,7 +140,7 @@ export default function PostView(props) {
                     owner_id: body.data.ownerUser,
                     created_at: body.data.createdAt,
                     updated_at: body.data.updatedAt,
-                    cover_img_url: body.data.imageUrl,
+                    cover_img_url: body.data.detailImageUrl || body.data.imageUrl,
                     title: body.data.title,
                     description: body.data.description,
                     content: body.data.content
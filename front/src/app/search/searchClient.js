@@ -123,7 +123,7 @@ export default function SearchClient() {
               >
                 <div className="book-thumb">
                   <img
-                    src={book.imageUrl}
+                    src={book.thumbnailUrl || book.imageUrl}
                     alt={book.title}
                     className="book-image"
                     loading="lazy"